@@ -0,0 +1,66 @@
+package com.main.MutantDetector.benchmark;
+
+import com.main.MutantDetector.config.DetectionConfig;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.engine.PackedDna;
+import com.main.MutantDetector.engine.PackedDnaPool;
+import com.main.MutantDetector.engine.Sha256DnaHasher;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.metrics.MutantMetrics;
+import com.main.MutantDetector.service.MutantDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Detección de mutantes por tamaño de matriz, perfil de ADN y motor.
+// isMutant mide el camino completo (validación + empaquetado + detección) e isMutantPacked solo el motor.
+// Para comparar un motor nuevo basta con agregarlo a DetectionConfig y al parámetro `engine`.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class DetectionBenchmark {
+
+    @Param({"6", "32", "100", "1000", "10000"})
+    private int size;
+
+    @Param({"HUMANO", "MUTANTE_INICIO", "MUTANTE_FINAL", "ALEATORIO"})
+    private DnaFixtures.Perfil perfil;
+
+    @Param({"scalar", "vector"})
+    private String engine;
+
+    @Param({"1000"})
+    private int parallelThreshold;
+
+    private MutantDetector mutantDetector;
+    private String[] dna;
+    private PackedDna packed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidDnaException {
+        DnaScanner dnaScanner = new DnaScanner(new Sha256DnaHasher());
+        mutantDetector = new MutantDetector(new DetectionConfig().sequenceEngine(engine, parallelThreshold), dnaScanner,
+                new PackedDnaPool(), new MutantMetrics(new SimpleMeterRegistry()));
+        dna = DnaFixtures.dna(size, perfil);
+        packed = dnaScanner.pack(dna);
+
+        // Evita medir un fixture roto: el veredicto tiene que coincidir con el perfil
+        boolean esperado = perfil != DnaFixtures.Perfil.HUMANO;
+        if (perfil != DnaFixtures.Perfil.ALEATORIO && mutantDetector.isMutant(packed) != esperado)
+            throw new IllegalStateException("Fixture " + perfil + " de tamaño " + size + " no da el veredicto esperado");
+    }
+
+    @Benchmark
+    public boolean isMutant() throws InvalidDnaException {
+        return mutantDetector.isMutant(dna);
+    }
+
+    @Benchmark
+    public boolean isMutantPacked() {
+        return mutantDetector.isMutant(packed);
+    }
+}
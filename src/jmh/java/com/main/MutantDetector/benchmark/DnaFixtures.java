@@ -0,0 +1,85 @@
+package com.main.MutantDetector.benchmark;
+
+import java.util.Random;
+
+// Matrices de ADN para los benchmarks. Todas se generan de forma determinística para que
+// las corridas sean comparables entre versiones.
+public final class DnaFixtures {
+    private static final String BASES = "ACGT";
+
+    private DnaFixtures() {
+    }
+
+    // Perfiles de ADN: definen cuánto de la matriz recorre el detector antes de decidir
+    public enum Perfil {
+        // Sin ninguna secuencia: el detector recorre la matriz completa
+        HUMANO,
+        // Dos secuencias en las primeras filas: corte temprano
+        MUTANTE_INICIO,
+        // Dos secuencias en las últimas filas: recorrido casi completo antes de decidir
+        MUTANTE_FINAL,
+        // Bases uniformes al azar: muchas secuencias repartidas por toda la matriz
+        ALEATORIO
+    }
+
+    static String[] dna(int n, Perfil perfil) {
+        return switch (perfil) {
+            case HUMANO -> toStrings(humano(n));
+            case MUTANTE_INICIO -> toStrings(conSecuencias(humano(n), 0));
+            case MUTANTE_FINAL -> toStrings(conSecuencias(humano(n), n - 2));
+            case ALEATORIO -> aleatorio(n, new Random(n));
+        };
+    }
+
+    // Variante de `dna` cuya fila 0 codifica `id` en base 4: ADN distintos para cada invocación
+    static String[] variante(String[] dna, long id) {
+        String[] copia = dna.clone();
+        char[] fila = copia[0].toCharArray();
+        for (int col = 0; col < fila.length && id != 0; col++, id >>>= 2) {
+            fila[col] = BASES.charAt((int) (id & 3));
+        }
+        copia[0] = new String(fila);
+        return copia;
+    }
+
+    // Patrón sin secuencias de 4 en ninguna dirección: cada fila repite ACGT y las filas impares
+    // están desplazadas en una base
+    private static char[][] humano(int n) {
+        char[][] matriz = new char[n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                matriz[row][col] = BASES.charAt((col + (row & 1)) & 3);
+            }
+        }
+        return matriz;
+    }
+
+    // Dos secuencias horizontales en las filas `row` y `row + 1`
+    private static char[][] conSecuencias(char[][] matriz, int row) {
+        for (int col = 0; col < 4; col++) {
+            matriz[row][col] = 'A';
+            matriz[row + 1][col] = 'G';
+        }
+        return matriz;
+    }
+
+    private static String[] aleatorio(int n, Random random) {
+        String[] dna = new String[n];
+        char[] fila = new char[n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                fila[col] = BASES.charAt(random.nextInt(4));
+            }
+            dna[row] = new String(fila);
+        }
+        return dna;
+    }
+
+    private static String[] toStrings(char[][] matriz) {
+        String[] dna = new String[matriz.length];
+        for (int row = 0; row < matriz.length; row++) {
+            dna[row] = new String(matriz[row]);
+        }
+        return dna;
+    }
+}
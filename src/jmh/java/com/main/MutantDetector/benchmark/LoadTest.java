@@ -0,0 +1,143 @@
+package com.main.MutantDetector.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Prueba de carga de POST /mutant contra una instancia ya levantada: `concurrencia` clientes envían
+// requests en un loop cerrado durante `duracion` segundos (después de `calentamiento` segundos que no
+// se miden) y se reporta el throughput y los percentiles de latencia.
+// Cada request lleva un ADN distinto (caché y base fallan, se detecta y se encola el insert),
+// salvo con --repetido=true.
+//
+//   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.main.MutantDetector.benchmark.LoadTest \
+//       -Dbenchmark.args="--url=http://localhost:8080 --concurrencia=400 --duracion=30 --size=100"
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opciones = parse(args);
+        final String url = opciones.getOrDefault("url", "http://localhost:8080") + "/mutant";
+        final int concurrencia = Integer.parseInt(opciones.getOrDefault("concurrencia", "200"));
+        final int duracion = Integer.parseInt(opciones.getOrDefault("duracion", "30"));
+        final int calentamiento = Integer.parseInt(opciones.getOrDefault("calentamiento", "10"));
+        final int size = Integer.parseInt(opciones.getOrDefault("size", "100"));
+        final boolean repetido = Boolean.parseBoolean(opciones.getOrDefault("repetido", "false"));
+
+        final String[] dna = DnaFixtures.dna(size, DnaFixtures.Perfil.HUMANO);
+        final AtomicLong variantes = new AtomicLong(System.nanoTime() & 0xFFFFFFFFL);
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        final long inicioMedicion = System.nanoTime() + Duration.ofSeconds(calentamiento).toNanos();
+        final long fin = inicioMedicion + Duration.ofSeconds(duracion).toNanos();
+        List<Future<Resultado>> futuros = new ArrayList<>();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrencia; i++) {
+                futuros.add(clientes.submit(() -> {
+                    Resultado resultado = new Resultado();
+                    while (true) {
+                        String[] muestra = repetido ? dna : DnaFixtures.variante(dna, variantes.incrementAndGet());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofString(json(muestra)))
+                                .build();
+                        final long inicio = System.nanoTime();
+                        if (inicio >= fin) return resultado;
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        final long ahora = System.nanoTime();
+                        if (inicio >= inicioMedicion && ahora <= fin) {
+                            resultado.registrar(ahora - inicio, status == 200 || status == 403);
+                        }
+                    }
+                }));
+            }
+        }
+
+        Resultado total = new Resultado();
+        for (Future<Resultado> futuro : futuros) {
+            total.agregar(futuro.get());
+        }
+        total.imprimir(concurrencia, size, duracion);
+    }
+
+    private static String json(String[] dna) {
+        StringBuilder json = new StringBuilder(dna.length * (dna.length + 3) + 16).append("{\"dna\":[");
+        for (int row = 0; row < dna.length; row++) {
+            if (row > 0) json.append(',');
+            json.append('"').append(dna[row]).append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0)
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (se espera --clave=valor)");
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+
+    // Latencias de un cliente (en nanosegundos) y cantidad de errores
+    private static final class Resultado {
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private long errores;
+
+        void registrar(long latencia, boolean ok) {
+            if (!ok) {
+                errores++;
+                return;
+            }
+            if (cantidad == latencias.length) latencias = Arrays.copyOf(latencias, cantidad * 2);
+            latencias[cantidad++] = latencia;
+        }
+
+        void agregar(Resultado otro) {
+            latencias = Arrays.copyOf(latencias, Math.max(latencias.length, cantidad + otro.cantidad));
+            System.arraycopy(otro.latencias, 0, latencias, cantidad, otro.cantidad);
+            cantidad += otro.cantidad;
+            errores += otro.errores;
+        }
+
+        void imprimir(int concurrencia, int size, int duracion) {
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            System.out.printf("concurrencia=%d size=%d duracion=%ds%n", concurrencia, size, duracion);
+            System.out.printf("requests=%d errores=%d throughput=%.1f req/s%n",
+                    cantidad, errores, (double) cantidad / duracion);
+            if (cantidad == 0) return;
+            System.out.printf("latencia ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.90),
+                    percentil(ordenadas, 0.99), ordenadas[cantidad - 1] / 1e6);
+        }
+
+        private static double percentil(long[] ordenadas, double p) {
+            return ordenadas[(int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.main.MutantDetector.benchmark;
+
+import com.main.MutantDetector.MutantDetectorApplication;
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.dto.DnaResponseDTO;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.service.MutantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// MutantService.comprobarMutante con el contexto de Spring completo (H2 en memoria, sin servidor web).
+// repetido: el mismo ADN en cada llamada (camino de la caché de veredictos).
+// nuevo: un ADN distinto en cada llamada (hash + consulta a la base + detección + encolado del insert);
+// incluye el costo de armar la variante, una copia del arreglo y de la fila 0.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class MutantServiceBenchmark {
+
+    // Desde 16 para que la fila 0 alcance a codificar suficientes variantes distintas
+    @Param({"16", "100", "1000", "10000"})
+    private int size;
+
+    @Param({"HUMANO", "MUTANTE_INICIO"})
+    private DnaFixtures.Perfil perfil;
+
+    private ConfigurableApplicationContext context;
+    private MutantService mutantService;
+    private String[] dna;
+    private DnaRequestDTO repetido;
+    private final AtomicLong variantes = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidDnaException {
+        context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN");
+        mutantService = context.getBean(MutantService.class);
+        dna = DnaFixtures.dna(size, perfil);
+        repetido = new DnaRequestDTO(dna);
+        mutantService.comprobarMutante(repetido);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DnaResponseDTO repetido() throws InvalidDnaException {
+        return mutantService.comprobarMutante(repetido);
+    }
+
+    @Benchmark
+    public DnaResponseDTO nuevo() throws InvalidDnaException {
+        return mutantService.comprobarMutante(new DnaRequestDTO(DnaFixtures.variante(dna, variantes.incrementAndGet())));
+    }
+}
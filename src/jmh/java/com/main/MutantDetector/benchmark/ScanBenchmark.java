@@ -0,0 +1,61 @@
+package com.main.MutantDetector.benchmark;
+
+import com.main.MutantDetector.config.DetectionConfig;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.PackedDna;
+import com.main.MutantDetector.engine.PackedDnaPool;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.metrics.MutantMetrics;
+import com.main.MutantDetector.service.MutantDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Lectura del ADN antes de la detección: validación sola (isValidDna), validación + empaquetado (pack)
+// y validación + empaquetado + hash (scan). El costo del hash es la diferencia entre scan y pack.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class ScanBenchmark {
+
+    @Param({"6", "32", "100", "1000", "10000"})
+    private int size;
+
+    @Param({"sha256", "fingerprint"})
+    private String hash;
+
+    private DnaScanner dnaScanner;
+    private MutantDetector mutantDetector;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DetectionConfig config = new DetectionConfig();
+        dnaScanner = new DnaScanner(config.dnaHasher(hash));
+        mutantDetector = new MutantDetector(config.sequenceEngine("scalar", Integer.MAX_VALUE), dnaScanner,
+                new PackedDnaPool(), new MutantMetrics(new SimpleMeterRegistry()));
+        dna = DnaFixtures.dna(size, DnaFixtures.Perfil.ALEATORIO);
+    }
+
+    @Benchmark
+    public boolean isValidDna() throws InvalidDnaException {
+        return mutantDetector.isValidDna(dna);
+    }
+
+    @Benchmark
+    public PackedDna pack() throws InvalidDnaException {
+        return dnaScanner.pack(dna);
+    }
+
+    @Benchmark
+    public DnaKey scan() throws InvalidDnaException {
+        DnaSample sample = dnaScanner.scan(dna);
+        return sample.key();
+    }
+}
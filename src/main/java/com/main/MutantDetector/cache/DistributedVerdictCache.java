@@ -0,0 +1,93 @@
+package com.main.MutantDetector.cache;
+
+import com.main.MutantDetector.cache.VerdictBus.Tipo;
+import com.main.MutantDetector.cache.VerdictBus.VerdictEvent;
+import com.main.MutantDetector.engine.DnaKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+// Caché de veredictos en dos niveles para varias réplicas: la VerdictCache de cada nodo (near-cache) delante
+// del SharedVerdictStore común, más el VerdictBus para avisar a los demás nodos:
+// - un ADN nuevo guardado por otro nodo se agrega al filtro de Bloom local (si no, este nodo lo daría por
+//   nuevo sin buscarlo en la base)
+// - una invalidación vacía las near-caches de todos los nodos (o solo saca una clave)
+// Los veredictos no cambian para una clave (incluye las reglas), así que no hace falta invalidar por escritura.
+// Sin nivel compartido (mutant.shared-cache.type=none) todo queda local, como antes.
+@Component
+@RequiredArgsConstructor
+public class DistributedVerdictCache {
+    private final VerdictCache verdictCache;
+    private final SharedVerdictStore sharedVerdictStore;
+    private final VerdictBus verdictBus;
+    private final DnaKeyFilter dnaKeyFilter;
+
+    private final String nodo = UUID.randomUUID().toString();
+    private Runnable cancelarSuscripcion;
+
+    @PostConstruct
+    void suscribir() {
+        cancelarSuscripcion = verdictBus.subscribe(this::recibir);
+    }
+
+    @PreDestroy
+    void cancelar() {
+        cancelarSuscripcion.run();
+    }
+
+    // Consulta el nivel compartido después de un fallo de la near-cache; un acierto queda también en la local
+    public Boolean get(DnaKey dnaKey) {
+        Boolean esMutante = sharedVerdictStore.get(dnaKey);
+        if (esMutante != null) verdictCache.put(dnaKey, esMutante);
+        return esMutante;
+    }
+
+    public Map<DnaKey, Boolean> getAll(Collection<DnaKey> dnaKeys) {
+        Map<DnaKey, Boolean> encontrados = sharedVerdictStore.getAll(dnaKeys);
+        encontrados.forEach(verdictCache::put);
+        return encontrados;
+    }
+
+    // Veredicto leído de la base: se comparte para que los demás nodos no repitan la consulta
+    public void put(DnaKey dnaKey, boolean esMutante) {
+        verdictCache.put(dnaKey, esMutante);
+        sharedVerdictStore.put(dnaKey, esMutante);
+    }
+
+    // Veredicto de un ADN nuevo (detectado y encolado para guardar en este nodo)
+    public void putNuevo(DnaKey dnaKey, boolean esMutante) {
+        put(dnaKey, esMutante);
+        verdictBus.publish(new VerdictEvent(nodo, Tipo.GUARDADO, dnaKey));
+    }
+
+    // Saca un veredicto del nivel compartido y de las near-caches de todos los nodos (un ADN nuevo que no se
+    // pudo guardar: el próximo request lo vuelve a detectar y a guardar)
+    public void invalidate(DnaKey dnaKey) {
+        sharedVerdictStore.invalidate(dnaKey);
+        verdictCache.invalidate(dnaKey);
+        verdictBus.publish(new VerdictEvent(nodo, Tipo.INVALIDACION, dnaKey));
+    }
+
+    // Vacía el nivel compartido y las near-caches de todos los nodos
+    public void invalidateAll() {
+        sharedVerdictStore.invalidateAll();
+        verdictCache.invalidateAll();
+        verdictBus.publish(new VerdictEvent(nodo, Tipo.INVALIDACION, null));
+    }
+
+    private void recibir(VerdictEvent evento) {
+        if (nodo.equals(evento.nodo())) return;
+        switch (evento.tipo()) {
+            case GUARDADO -> dnaKeyFilter.agregar(evento.dnaKey());
+            case INVALIDACION -> {
+                if (evento.dnaKey() == null) verdictCache.invalidateAll();
+                else verdictCache.invalidate(evento.dnaKey());
+            }
+        }
+    }
+}
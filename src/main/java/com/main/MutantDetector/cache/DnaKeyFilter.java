@@ -0,0 +1,125 @@
+package com.main.MutantDetector.cache;
+
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.repository.DnaHashReader;
+import com.main.MutantDetector.repository.DnaRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom sobre los dna_hash guardados, delante de DnaRecordRepository: si el filtro dice que
+// una clave no está, seguro no está en la base y se salta la consulta (el caso común, ADN nuevos).
+// Si dice que puede estar, se consulta igual (falsos positivos con probabilidad ~fpp).
+// Se reconstruye desde la base al iniciar y se actualiza con cada DnaRecord nuevo antes de encolarlo.
+// Las claves ya son hashes uniformes (SHA-256 o huella de 128 bits): las k posiciones salen de
+// h0 + i * h1 (doble hashing), sin volver a hashear.
+// Es local a cada instancia: con varias instancias sobre la misma base, un ADN guardado por otra se
+// vuelve a detectar y el insert duplicado se descarta por el índice único.
+@Slf4j
+@Component
+public class DnaKeyFilter {
+    private final DnaHashReader dnaHashReader;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    private final Counter descartados;
+    private final Counter posibles;
+    private final Counter falsosPositivos;
+
+    // Se reemplaza entero al recargar: quien lo lee ve bits, tamaño y cantidad de hashes consistentes
+    private volatile Bits bits = new Bits(new AtomicLongArray(1), Long.SIZE, 1);
+
+    public DnaKeyFilter(DnaHashReader dnaHashReader,
+                        DnaRecordRepository dnaRecordRepository,
+                        @Value("${mutant.bloom.enabled:true}") boolean enabled,
+                        @Value("${mutant.bloom.expected-insertions:1000000}") long expectedInsertions,
+                        @Value("${mutant.bloom.fpp:0.01}") double fpp,
+                        MeterRegistry meterRegistry) {
+        this.dnaHashReader = dnaHashReader;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.descartados = Counter.builder("mutant.filtro.consultas").tag("resultado", "descartado")
+                .description("Consultas a la base evitadas por el filtro de Bloom").register(meterRegistry);
+        this.posibles = Counter.builder("mutant.filtro.consultas").tag("resultado", "posible")
+                .description("Claves que el filtro de Bloom no pudo descartar").register(meterRegistry);
+        this.falsosPositivos = Counter.builder("mutant.filtro.falsos.positivos")
+                .description("Claves que el filtro dejó pasar y no estaban en la base").register(meterRegistry);
+        Gauge.builder("mutant.filtro.ocupacion", this, DnaKeyFilter::ocupacion)
+                .description("Proporción de bits en 1 del filtro de Bloom").register(meterRegistry);
+    }
+
+    // Dimensiona el filtro para max(expected-insertions, 2 x registros guardados) y carga todos los hashes
+    @PostConstruct
+    public void recargar() {
+        if (!enabled) return;
+        final long guardados = dnaRecordRepository.count();
+        final long capacidad = Math.max(expectedInsertions, 2 * guardados);
+        // m = -n ln(p) / ln(2)^2, k = m / n * ln(2)
+        final long m = Math.max(Long.SIZE, (long) Math.ceil(-capacidad * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        final int words = Math.toIntExact((m + Long.SIZE - 1) / Long.SIZE);
+        final long size = (long) words * Long.SIZE;
+        final int hashes = Math.max(1, (int) Math.round((double) size / capacidad * Math.log(2)));
+        Bits nuevos = new Bits(new AtomicLongArray(words), size, hashes);
+        dnaHashReader.forEachHash(hash -> nuevos.agregar(DnaKey.of(hash)));
+        bits = nuevos;
+        log.info("Filtro de Bloom con {} claves ({} KiB, {} hashes)", guardados, words / 128, hashes);
+    }
+
+    // false solo si la clave seguro no está guardada
+    public boolean puedeEstar(DnaKey dnaKey) {
+        if (!enabled) return true;
+        final boolean posible = bits.contiene(dnaKey);
+        (posible ? posibles : descartados).increment();
+        return posible;
+    }
+
+    public void agregar(DnaKey dnaKey) {
+        if (enabled) bits.agregar(dnaKey);
+    }
+
+    // La clave pasó el filtro pero la base no la tenía
+    public void falsoPositivo() {
+        falsosPositivos.increment();
+    }
+
+    private double ocupacion() {
+        final Bits actual = bits;
+        long unos = 0;
+        for (int i = 0; i < actual.words().length(); i++) {
+            unos += Long.bitCount(actual.words().get(i));
+        }
+        return (double) unos / actual.size();
+    }
+
+    private record Bits(AtomicLongArray words, long size, int hashes) {
+
+        boolean contiene(DnaKey dnaKey) {
+            long combined = dnaKey.h0();
+            for (int i = 0; i < hashes; i++, combined += dnaKey.h1()) {
+                final long bit = (combined & Long.MAX_VALUE) % size;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        void agregar(DnaKey dnaKey) {
+            long combined = dnaKey.h0();
+            for (int i = 0; i < hashes; i++, combined += dnaKey.h1()) {
+                final long bit = (combined & Long.MAX_VALUE) % size;
+                final int word = (int) (bit >>> 6);
+                final long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) words.getAndAccumulate(word, mask, (a, b) -> a | b);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.main.MutantDetector.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.main.MutantDetector.engine.DnaKey;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Nivel compartido en proceso: las instancias con el mismo nombre son la misma, así varios contextos de
+// Spring en una JVM (nodos en un test) comparten los veredictos como lo harían contra un almacén externo.
+// Cada named() toma una referencia y close() la suelta (Spring lo llama al cerrar el contexto): con la
+// última se saca la instancia del registro, así un contexto cerrado no deja veredictos vivos en la JVM.
+public final class LocalSharedVerdictStore implements SharedVerdictStore, AutoCloseable {
+    private static final Map<String, LocalSharedVerdictStore> INSTANCIAS = new ConcurrentHashMap<>();
+
+    private final String nombre;
+    private final Cache<DnaKey, Boolean> cache;
+    // Contextos que usan la instancia; se modifica solo dentro de compute sobre INSTANCIAS
+    private int referencias;
+
+    private LocalSharedVerdictStore(String nombre, long maxSize) {
+        this.nombre = nombre;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    // El tamaño lo fija el primero que crea la instancia
+    public static LocalSharedVerdictStore named(String nombre, long maxSize) {
+        return INSTANCIAS.compute(nombre, (n, actual) -> {
+            LocalSharedVerdictStore instancia = actual != null ? actual : new LocalSharedVerdictStore(n, maxSize);
+            instancia.referencias++;
+            return instancia;
+        });
+    }
+
+    @Override
+    public void close() {
+        INSTANCIAS.computeIfPresent(nombre, (n, actual) -> actual != this || --actual.referencias > 0 ? actual : null);
+    }
+
+    @Override
+    public Boolean get(DnaKey dnaKey) {
+        return cache.getIfPresent(dnaKey);
+    }
+
+    @Override
+    public Map<DnaKey, Boolean> getAll(Collection<DnaKey> dnaKeys) {
+        return cache.getAllPresent(dnaKeys);
+    }
+
+    @Override
+    public void put(DnaKey dnaKey, boolean esMutante) {
+        cache.put(dnaKey, esMutante);
+    }
+
+    @Override
+    public void invalidate(DnaKey dnaKey) {
+        cache.invalidate(dnaKey);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,46 @@
+package com.main.MutantDetector.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Bus en proceso (mismo esquema de instancias por nombre y referencias que LocalSharedVerdictStore): entrega
+// cada mensaje a todos los suscriptores en el hilo que publica
+public final class LocalVerdictBus implements VerdictBus, AutoCloseable {
+    private static final Map<String, LocalVerdictBus> INSTANCIAS = new ConcurrentHashMap<>();
+
+    private final String nombre;
+    private final List<Consumer<VerdictEvent>> suscriptores = new CopyOnWriteArrayList<>();
+    // Contextos que usan la instancia; se modifica solo dentro de compute sobre INSTANCIAS
+    private int referencias;
+
+    private LocalVerdictBus(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public static LocalVerdictBus named(String nombre) {
+        return INSTANCIAS.compute(nombre, (n, actual) -> {
+            LocalVerdictBus instancia = actual != null ? actual : new LocalVerdictBus(n);
+            instancia.referencias++;
+            return instancia;
+        });
+    }
+
+    @Override
+    public void close() {
+        INSTANCIAS.computeIfPresent(nombre, (n, actual) -> actual != this || --actual.referencias > 0 ? actual : null);
+    }
+
+    @Override
+    public void publish(VerdictEvent evento) {
+        suscriptores.forEach(suscriptor -> suscriptor.accept(evento));
+    }
+
+    @Override
+    public Runnable subscribe(Consumer<VerdictEvent> suscriptor) {
+        suscriptores.add(suscriptor);
+        return () -> suscriptores.remove(suscriptor);
+    }
+}
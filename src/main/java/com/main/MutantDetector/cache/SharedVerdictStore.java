@@ -0,0 +1,48 @@
+package com.main.MutantDetector.cache;
+
+import com.main.MutantDetector.engine.DnaKey;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Nivel compartido entre réplicas de la caché hash de ADN -> veredicto (detrás de la VerdictCache local
+// de cada nodo). mutant.shared-cache.type elige la implementación: "none" (sin nivel compartido) o "local"
+// (LocalSharedVerdictStore, en proceso, para pruebas y una sola máquina); un almacén externo (Redis,
+// Hazelcast, etc.) se agrega implementando esta interfaz.
+public interface SharedVerdictStore {
+    SharedVerdictStore NINGUNO = new SharedVerdictStore() {
+        @Override
+        public Boolean get(DnaKey dnaKey) {
+            return null;
+        }
+
+        @Override
+        public Map<DnaKey, Boolean> getAll(Collection<DnaKey> dnaKeys) {
+            return Map.of();
+        }
+
+        @Override
+        public void put(DnaKey dnaKey, boolean esMutante) {
+        }
+
+        @Override
+        public void invalidate(DnaKey dnaKey) {
+        }
+
+        @Override
+        public void invalidateAll() {
+        }
+    };
+
+    // null si el ADN no está
+    Boolean get(DnaKey dnaKey);
+
+    // Solo las claves encontradas
+    Map<DnaKey, Boolean> getAll(Collection<DnaKey> dnaKeys);
+
+    void put(DnaKey dnaKey, boolean esMutante);
+
+    void invalidate(DnaKey dnaKey);
+
+    void invalidateAll();
+}
@@ -0,0 +1,34 @@
+package com.main.MutantDetector.cache;
+
+import com.main.MutantDetector.engine.DnaKey;
+
+import java.util.function.Consumer;
+
+// Mensajes entre réplicas sobre los veredictos: un ADN nuevo guardado por un nodo (los demás lo agregan a
+// su filtro de Bloom) o la invalidación de las cachés locales. Cada nodo recibe también sus propios mensajes.
+public interface VerdictBus {
+    VerdictBus NINGUNO = new VerdictBus() {
+        @Override
+        public void publish(VerdictEvent evento) {
+        }
+
+        @Override
+        public Runnable subscribe(Consumer<VerdictEvent> suscriptor) {
+            return () -> {
+            };
+        }
+    };
+
+    // dnaKey null en una invalidación: todas las claves
+    record VerdictEvent(String nodo, Tipo tipo, DnaKey dnaKey) {
+    }
+
+    enum Tipo {
+        GUARDADO, INVALIDACION
+    }
+
+    void publish(VerdictEvent evento);
+
+    // Retorna la acción que cancela la suscripción
+    Runnable subscribe(Consumer<VerdictEvent> suscriptor);
+}
@@ -0,0 +1,60 @@
+package com.main.MutantDetector.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.main.MutantDetector.dto.CacheStatsResponseDTO;
+import com.main.MutantDetector.engine.DnaKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Caché en memoria hash de ADN -> veredicto, delante de DnaRecordRepository.
+// Acotada por cantidad de entradas (desalojo W-TinyLFU de Caffeine) y con contadores de aciertos,
+// fallos y desalojos, publicados también como métricas (cache.gets, cache.evictions, cache.size con cache=veredictos).
+@Component
+public class VerdictCache {
+    private static final String NOMBRE = "veredictos";
+
+    private final Cache<DnaKey, Boolean> cache;
+
+    public VerdictCache(@Value("${mutant.cache.max-size:100000}") long maxSize, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOMBRE);
+        Gauge.builder("mutant.cache.ratio.aciertos", cache, c -> c.stats().hitRate())
+                .description("Proporción de consultas a la caché de veredictos que fueron aciertos")
+                .register(meterRegistry);
+    }
+
+    // Retorna el veredicto guardado o null si el ADN no está en caché
+    public Boolean get(DnaKey dnaKey) {
+        return cache.getIfPresent(dnaKey);
+    }
+
+    public void put(DnaKey dnaKey, boolean esMutante) {
+        cache.put(dnaKey, esMutante);
+    }
+
+    public void invalidate(DnaKey dnaKey) {
+        cache.invalidate(dnaKey);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsResponseDTO getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponseDTO.builder()
+                .aciertos(stats.hitCount())
+                .fallos(stats.missCount())
+                .desalojos(stats.evictionCount())
+                .tamanio(cache.estimatedSize())
+                .build();
+    }
+}
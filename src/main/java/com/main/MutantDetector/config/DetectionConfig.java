@@ -0,0 +1,77 @@
+package com.main.MutantDetector.config;
+
+import com.main.MutantDetector.engine.DetectionProfiles;
+import com.main.MutantDetector.engine.DetectionRules;
+import com.main.MutantDetector.engine.DnaHasher;
+import com.main.MutantDetector.engine.FingerprintDnaHasher;
+import com.main.MutantDetector.engine.PackedSequenceEngine;
+import com.main.MutantDetector.engine.ParallelSequenceEngine;
+import com.main.MutantDetector.engine.SequenceEngine;
+import com.main.MutantDetector.engine.Sha256DnaHasher;
+import com.main.MutantDetector.engine.VectorSequenceEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DetectionProperties.class)
+public class DetectionConfig {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    // Selecciona el motor de detección: "scalar" (palabras de 64 bits) o "vector" (Vector API).
+    // Las matrices con N >= parallel-threshold se recorren por bandas en el ForkJoinPool común.
+    @Bean
+    public SequenceEngine sequenceEngine(@Value("${mutant.detector.engine:scalar}") String engine,
+                                         @Value("${mutant.detector.parallel-threshold:1000}") int parallelThreshold) {
+        return new ParallelSequenceEngine(baseEngine(engine), parallelThreshold, ForkJoinPool.commonPool());
+    }
+
+    // Hash del ADN usado como clave: "sha256" (por defecto) o "fingerprint" (huella de 128 bits, no criptográfica).
+    // Las claves quedan guardadas en dna_records: un valor desconocido frena el arranque en vez de cambiarlas
+    @Bean
+    public DnaHasher dnaHasher(@Value("${mutant.hash.algorithm:sha256}") String algorithm) {
+        if ("sha256".equalsIgnoreCase(algorithm)) return new Sha256DnaHasher();
+        if ("fingerprint".equalsIgnoreCase(algorithm)) return new FingerprintDnaHasher();
+        throw new IllegalArgumentException("mutant.hash.algorithm desconocido: " + algorithm);
+    }
+
+    // Perfiles de reglas de detección configurados, seleccionables por request (?perfil=<nombre>)
+    @Bean
+    public DetectionProfiles detectionProfiles(DetectionProperties properties) {
+        final DetectionRules standard = DetectionRules.STANDARD;
+        List<DetectionRules> profiles = new ArrayList<>();
+        properties.profiles().forEach((name, profile) -> {
+            DetectionRules rules = new DetectionRules(name,
+                    profile.alphabet() != null ? profile.alphabet() : standard.alphabet(),
+                    profile.runLength() != null ? profile.runLength() : standard.runLength(),
+                    profile.threshold() != null ? profile.threshold() : standard.threshold());
+            log.info("Perfil de detección {}", rules);
+            profiles.add(rules);
+        });
+        return new DetectionProfiles(profiles);
+    }
+
+    // Un nombre desconocido frena el arranque; solo "vector" sin su módulo cae (con aviso) al escalar
+    private SequenceEngine baseEngine(String engine) {
+        if ("scalar".equalsIgnoreCase(engine)) return new PackedSequenceEngine();
+        if (!"vector".equalsIgnoreCase(engine))
+            throw new IllegalArgumentException("mutant.detector.engine desconocido: " + engine);
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return new VectorSequenceEngine();
+            } catch (LinkageError e) {
+                log.warn("No se pudo inicializar la Vector API, se usa el motor escalar", e);
+            }
+        } else {
+            log.warn("Módulo {} no disponible (falta --add-modules), se usa el motor escalar", VECTOR_MODULE);
+        }
+        return new PackedSequenceEngine();
+    }
+}
@@ -0,0 +1,18 @@
+package com.main.MutantDetector.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// Perfiles de reglas de detección (mutant.detector.profiles.<nombre>). Los valores que faltan
+// toman los de las reglas estándar.
+@ConfigurationProperties(prefix = "mutant.detector")
+public record DetectionProperties(Map<String, Profile> profiles) {
+
+    public DetectionProperties {
+        profiles = profiles != null ? profiles : Map.of();
+    }
+
+    public record Profile(String alphabet, Integer runLength, Integer threshold) {
+    }
+}
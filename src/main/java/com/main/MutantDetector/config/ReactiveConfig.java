@@ -0,0 +1,22 @@
+package com.main.MutantDetector.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// Configuración de los endpoints reactivos (mutant.reactive.enabled=true)
+@Configuration
+@ConditionalOnProperty(name = "mutant.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    // Scheduler acotado para la detección y las llamadas bloqueantes (JPA): los hilos de Tomcat
+    // quedan libres mientras tanto. Con la cola llena las tareas nuevas se rechazan en lugar de acumularse.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler mutantScheduler(@Value("${mutant.reactive.scheduler-threads:32}") int threads,
+                                     @Value("${mutant.reactive.queue-size:10000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "mutant-reactive");
+    }
+}
@@ -0,0 +1,40 @@
+package com.main.MutantDetector.config;
+
+import com.main.MutantDetector.cache.LocalSharedVerdictStore;
+import com.main.MutantDetector.cache.LocalVerdictBus;
+import com.main.MutantDetector.cache.SharedVerdictStore;
+import com.main.MutantDetector.cache.VerdictBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class SharedCacheConfig {
+
+    // Nivel compartido de la caché de veredictos entre réplicas: "none" (por defecto) o "local" (en proceso,
+    // compartido por nombre entre los contextos de una JVM). Las instancias locales son AutoCloseable: Spring
+    // infiere close() como método de destrucción y al cerrar el contexto sueltan su entrada del registro
+    @Bean
+    public SharedVerdictStore sharedVerdictStore(@Value("${mutant.shared-cache.type:none}") String type,
+                                                 @Value("${mutant.shared-cache.name:veredictos}") String name,
+                                                 @Value("${mutant.shared-cache.max-size:1000000}") long maxSize) {
+        if (!isLocal(type)) return SharedVerdictStore.NINGUNO;
+        log.info("Caché de veredictos compartida en proceso '{}'", name);
+        return LocalSharedVerdictStore.named(name, maxSize);
+    }
+
+    @Bean
+    public VerdictBus verdictBus(@Value("${mutant.shared-cache.type:none}") String type,
+                                 @Value("${mutant.shared-cache.name:veredictos}") String name) {
+        return isLocal(type) ? LocalVerdictBus.named(name) : VerdictBus.NINGUNO;
+    }
+
+    private static boolean isLocal(String type) {
+        if ("local".equalsIgnoreCase(type)) return true;
+        if (!"none".equalsIgnoreCase(type))
+            throw new IllegalArgumentException("mutant.shared-cache.type desconocido: " + type);
+        return false;
+    }
+}
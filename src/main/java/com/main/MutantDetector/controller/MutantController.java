@@ -1,20 +1,43 @@
 package com.main.MutantDetector.controller;
 
+import com.main.MutantDetector.cache.DistributedVerdictCache;
+import com.main.MutantDetector.cache.VerdictCache;
+import com.main.MutantDetector.dto.CacheStatsResponseDTO;
 import com.main.MutantDetector.dto.DnaRequestDTO;
 import com.main.MutantDetector.dto.DnaResponseDTO;
 import com.main.MutantDetector.dto.StatsResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanaResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanasResponseDTO;
+import com.main.MutantDetector.engine.DetectionProfiles;
+import com.main.MutantDetector.engine.DnaJsonReader;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.PackedDnaPool;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.metrics.MutantMetrics;
 import com.main.MutantDetector.service.MutantService;
+import com.main.MutantDetector.service.SequenceReportService;
 import com.main.MutantDetector.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping
@@ -23,20 +46,89 @@ import org.springframework.web.bind.annotation.*;
 public class MutantController {
     private final MutantService mutantService;
     private final StatsService statsService;
+    private final DnaJsonReader dnaJsonReader;
+    private final DetectionProfiles detectionProfiles;
+    private final PackedDnaPool packedDnaPool;
+    private final VerdictCache verdictCache;
+    private final DistributedVerdictCache distributedVerdictCache;
+    private final MutantMetrics mutantMetrics;
+    private final SequenceReportService sequenceReportService;
+
+    @Value("${mutant.batch.max-size:1000}")
+    private int maxBatchSize;
 
     // Endpoint POST /mutant - Verifica si una secuencia de ADN pertenece a un mutante
-    @PostMapping("/mutant")
+    @PostMapping(value = "/mutant", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Verificar si un ADN es mutante")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(schema = @Schema(implementation = DnaRequestDTO.class)))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Es mutante"),
             @ApiResponse(responseCode = "403", description = "No es mutante"),
-            @ApiResponse(responseCode = "400", description = "ADN inválido")
+            @ApiResponse(responseCode = "400", description = "ADN inválido o perfil desconocido")
+    })
+    public ResponseEntity<Void> comprobarMutante(InputStream body,
+            @Parameter(description = "Perfil de reglas de detección (mutant.detector.profiles); por defecto las estándar")
+            @RequestParam(name = "perfil", required = false) String perfil) throws InvalidDnaException, IOException {
+        // Lee el cuerpo en streaming directo a una matriz empaquetada (sin armar el String[])
+        final long inicio = System.nanoTime();
+        DnaSample muestra = dnaJsonReader.read(body, detectionProfiles.get(perfil));
+        mutantMetrics.etapa(MutantMetrics.Etapa.LECTURA, inicio);
+        try {
+            // Analiza el ADN y determina si es mutante o humano
+            DnaResponseDTO dnaResponseDTO = mutantService.comprobarMutante(muestra);
+            // Retorna 200 OK si es mutante, 403 Forbidden si es humano
+            return dnaResponseDTO.esMutante()? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } finally {
+            packedDnaPool.release(muestra.matrix());
+        }
+    }
+
+    // Endpoint POST /mutant/batch - Verifica un lote de ADN (arreglo JSON o NDJSON) en un solo request
+    @PostMapping(value = "/mutant/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Verificar un lote de ADN. Responde un veredicto por muestra, en el mismo orden.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = DnaRequestDTO.class))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Veredictos del lote"),
+            @ApiResponse(responseCode = "400", description = "Alguna muestra es inválida o el lote es demasiado grande")
+    })
+    public ResponseEntity<List<DnaResponseDTO>> comprobarMutantes(InputStream body,
+            @Parameter(description = "Perfil de reglas de detección para todo el lote")
+            @RequestParam(name = "perfil", required = false) String perfil) throws InvalidDnaException, IOException {
+        List<DnaSample> muestras = dnaJsonReader.readBatch(body, maxBatchSize, detectionProfiles.get(perfil));
+        try {
+            return ResponseEntity.ok(mutantService.comprobarMutantes(muestras));
+        } finally {
+            muestras.forEach(muestra -> packedDnaPool.release(muestra.matrix()));
+        }
+    }
+
+    // Endpoint POST /mutant/report - Reporta todas las secuencias del ADN (posición, dirección, base y largo)
+    // en NDJSON, a medida que se encuentran, y cierra con el total y el veredicto
+    @PostMapping(value = "/mutant/report", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Reportar todas las secuencias de un ADN. Una línea NDJSON por secuencia y una final con el total.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(schema = @Schema(implementation = DnaRequestDTO.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reporte de secuencias"),
+            @ApiResponse(responseCode = "400", description = "ADN inválido o perfil desconocido")
     })
-    public ResponseEntity<Void> comprobarMutante(@Valid @RequestBody DnaRequestDTO dnaRequest) throws InvalidDnaException {
-        // Analiza el ADN y determina si es mutante o humano
-        DnaResponseDTO dnaResponseDTO = mutantService.comprobarMutante(dnaRequest);
-        // Retorna 200 OK si es mutante, 403 Forbidden si es humano
-        return dnaResponseDTO.esMutante()? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    public ResponseEntity<StreamingResponseBody> reportarSecuencias(InputStream body,
+            @Parameter(description = "Perfil de reglas de detección; por defecto las estándar")
+            @RequestParam(name = "perfil", required = false) String perfil) throws InvalidDnaException, IOException {
+        DnaSample muestra = dnaJsonReader.read(body, detectionProfiles.get(perfil));
+        // El reporte se escribe fuera del hilo del request; la matriz vuelve al pool al terminar
+        StreamingResponseBody reporte = out -> {
+            try {
+                sequenceReportService.reportar(muestra, out);
+            } finally {
+                packedDnaPool.release(muestra.matrix());
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(reporte);
     }
 
     // Endpoint GET /stats - Retorna estadísticas de todos los ADN analizados
@@ -48,4 +140,43 @@ public class MutantController {
         return ResponseEntity.ok(stats);
     }
 
+    // Endpoint GET /stats/ventanas - Estadísticas del último minuto, la última hora y el último día
+    @GetMapping("/stats/ventanas")
+    @Operation(summary = "Obtener estadísticas del último minuto, la última hora y el último día.")
+    public ResponseEntity<StatsVentanasResponseDTO> getStatsVentanas() {
+        return ResponseEntity.ok(statsService.getVentanas());
+    }
+
+    // Endpoint GET /stats/rango - Estadísticas de los ADN creados en un rango de fechas (sin consultar la base)
+    @GetMapping("/stats/rango")
+    @Operation(summary = "Obtener estadísticas de los DnaRecords creados entre dos fechas (hasta un año atrás).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas del rango efectivo"),
+            @ApiResponse(responseCode = "400", description = "Fechas inválidas o desde posterior a hasta")
+    })
+    public ResponseEntity<StatsVentanaResponseDTO> getStatsRango(
+            @Parameter(description = "Inicio del rango (ISO, ej. 2026-01-01T00:00:00)")
+            @RequestParam("desde") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Fin del rango, excluido; por defecto ahora")
+            @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        if (hasta == null) hasta = LocalDateTime.now();
+        if (desde.isAfter(hasta)) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(statsService.getRango(desde, hasta));
+    }
+
+    // Endpoint GET /stats/cache - Retorna los contadores de la caché de veredictos
+    @GetMapping("/stats/cache")
+    @Operation(summary = "Obtener aciertos, fallos y desalojos de la caché de veredictos.")
+    public ResponseEntity<CacheStatsResponseDTO> getCacheStats() {
+        return ResponseEntity.ok(verdictCache.getStats());
+    }
+
+    // Endpoint DELETE /stats/cache - Vacía la caché de veredictos de todas las réplicas (y el nivel compartido)
+    @DeleteMapping("/stats/cache")
+    @Operation(summary = "Vaciar la caché de veredictos en todas las réplicas. Los veredictos guardados en la base se conservan.")
+    public ResponseEntity<Void> invalidarCache() {
+        distributedVerdictCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
 }
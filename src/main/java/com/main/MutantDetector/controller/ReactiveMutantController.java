@@ -0,0 +1,95 @@
+package com.main.MutantDetector.controller;
+
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.dto.DnaResponseDTO;
+import com.main.MutantDetector.dto.StatsResponseDTO;
+import com.main.MutantDetector.engine.DetectionProfiles;
+import com.main.MutantDetector.engine.DnaJsonReader;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.PackedDnaPool;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.service.MutantService;
+import com.main.MutantDetector.service.StatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Variante reactiva de /mutant y /stats (mutant.reactive.enabled=true). Los endpoints devuelven Mono y
+// Spring MVC los atiende en modo asíncrono: el hilo de Tomcat se libera mientras la consulta a la base
+// y la detección corren en el scheduler acotado. Los aciertos de caché se responden sin cambiar de hilo.
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mutant.reactive.enabled", havingValue = "true")
+@Tag(name = "Mutant Detector (reactivo)", description = "API reactiva para detección de mutantes")
+public class ReactiveMutantController {
+    private final MutantService mutantService;
+    private final StatsService statsService;
+    private final DnaJsonReader dnaJsonReader;
+    private final DetectionProfiles detectionProfiles;
+    private final PackedDnaPool packedDnaPool;
+    private final Scheduler mutantScheduler;
+
+    // Endpoint POST /reactive/mutant - Igual que POST /mutant, sin bloquear el hilo del request
+    @PostMapping(value = "/mutant", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Verificar si un ADN es mutante (reactivo)")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+            content = @Content(schema = @Schema(implementation = DnaRequestDTO.class)))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Es mutante"),
+            @ApiResponse(responseCode = "403", description = "No es mutante"),
+            @ApiResponse(responseCode = "400", description = "ADN inválido o perfil desconocido"),
+            @ApiResponse(responseCode = "503", description = "Scheduler saturado")
+    })
+    public Mono<ResponseEntity<Void>> comprobarMutante(InputStream body,
+            @Parameter(description = "Perfil de reglas de detección (mutant.detector.profiles); por defecto las estándar")
+            @RequestParam(name = "perfil", required = false) String perfil) throws InvalidDnaException, IOException {
+        DnaSample muestra = dnaJsonReader.read(body, detectionProfiles.get(perfil));
+        DnaResponseDTO cacheado = mutantService.comprobarEnCache(muestra);
+        if (cacheado != null) {
+            packedDnaPool.release(muestra.matrix());
+            return Mono.just(respuesta(cacheado));
+        }
+        // La matriz se libera dentro de la tarea: si el request se cancela antes de que corra,
+        // no vuelve al pool (no se pierde nada, solo no se reutiliza)
+        return Mono.fromCallable(() -> {
+                    try {
+                        return mutantService.comprobarSinCache(muestra);
+                    } finally {
+                        packedDnaPool.release(muestra.matrix());
+                    }
+                })
+                .subscribeOn(mutantScheduler)
+                .map(this::respuesta);
+    }
+
+    // Endpoint GET /reactive/stats - Las estadísticas se leen de contadores en memoria, sin cambiar de hilo
+    @GetMapping("/stats")
+    @Operation(summary = "Obtener estadísticas de los DnaRecords guardados (reactivo).")
+    public Mono<ResponseEntity<StatsResponseDTO>> getStats() {
+        return Mono.fromSupplier(statsService::getStats).map(ResponseEntity::ok);
+    }
+
+    private ResponseEntity<Void> respuesta(DnaResponseDTO dnaResponseDTO) {
+        return dnaResponseDTO.esMutante() ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+}
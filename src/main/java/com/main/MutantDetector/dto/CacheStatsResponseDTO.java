@@ -0,0 +1,14 @@
+package com.main.MutantDetector.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Contadores de la caché de veredictos.")
+@Builder
+public record CacheStatsResponseDTO(
+        long aciertos,
+        long fallos,
+        long desalojos,
+        long tamanio
+) {
+}
@@ -1,6 +1,5 @@
 package com.main.MutantDetector.dto;
 
-import com.main.MutantDetector.validation.ValidDnaSequence;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +11,6 @@ public record DnaRequestDTO(
                 example = "[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]")
         @NotNull(message = "La cadena de DNA no puede ser nula.")
         @NotEmpty(message = "La cadena de DNA no puede estar vacía.")
-        @ValidDnaSequence
         String[] dna
 ) {
 }
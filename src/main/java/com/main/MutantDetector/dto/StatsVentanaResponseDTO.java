@@ -0,0 +1,19 @@
+package com.main.MutantDetector.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Estadísticas de los DnaRecords creados en un rango de tiempo.")
+@Builder
+public record StatsVentanaResponseDTO(
+        @Schema(description = "Inicio efectivo del rango (alineado a la resolución usada)")
+        LocalDateTime desde,
+        @Schema(description = "Fin efectivo del rango, excluido")
+        LocalDateTime hasta,
+        long cantHumanos,
+        long cantMutantes,
+        double ratio
+) {
+}
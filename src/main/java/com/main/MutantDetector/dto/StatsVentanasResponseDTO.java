@@ -0,0 +1,13 @@
+package com.main.MutantDetector.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Schema(description = "Estadísticas del último minuto, la última hora y el último día.")
+@Builder
+public record StatsVentanasResponseDTO(
+        StatsVentanaResponseDTO ultimoMinuto,
+        StatsVentanaResponseDTO ultimaHora,
+        StatsVentanaResponseDTO ultimoDia
+) {
+}
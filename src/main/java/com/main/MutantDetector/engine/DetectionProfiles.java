@@ -0,0 +1,31 @@
+package com.main.MutantDetector.engine;
+
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Perfiles de reglas de detección por nombre (mutant.detector.profiles). Un request sin perfil usa las
+// reglas estándar; un perfil desconocido es un error del cliente.
+public class DetectionProfiles {
+    private final Map<String, DetectionRules> profiles = new LinkedHashMap<>();
+
+    public DetectionProfiles(Collection<DetectionRules> rules) {
+        profiles.put(DetectionRules.STANDARD.name(), DetectionRules.STANDARD);
+        rules.forEach(profile -> profiles.put(profile.name(), profile));
+    }
+
+    public DetectionRules get(String name) throws InvalidDnaException {
+        if (name == null || name.isBlank()) return DetectionRules.STANDARD;
+        DetectionRules rules = profiles.get(name);
+        if (rules == null)
+            throw new InvalidDnaException("Perfil de detección desconocido: " + name + ". Disponibles: " + profiles.keySet());
+        return rules;
+    }
+
+    public Collection<DetectionRules> all() {
+        return Collections.unmodifiableCollection(profiles.values());
+    }
+}
@@ -0,0 +1,135 @@
+package com.main.MutantDetector.engine;
+
+import com.main.MutantDetector.exceptions.DnaHashCalculationException;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+// Reglas de detección de un perfil: alfabeto (hasta 4 letras, 2 bits por base), largo mínimo de una
+// secuencia y cantidad de secuencias a partir de la cual el ADN es mutante.
+// Las reglas estándar (A, T, C y G, secuencias de 4, más de una secuencia) son las de siempre.
+public final class DetectionRules {
+    public static final int MAX_ALPHABET = 4;
+    public static final int MIN_RUN_LENGTH = 2;
+    // Los motores desplazan a lo sumo una palabra (32 bases) entre filas y columnas vecinas
+    public static final int MAX_RUN_LENGTH = PackedDna.BASES_PER_WORD;
+
+    private static final String STANDARD_ALPHABET = "ACGT";
+    public static final DetectionRules STANDARD = new DetectionRules("estandar", "ATCG", SequenceEngine.SEQUENCE_LENGTH, 2);
+
+    private final String name;
+    private final String alphabet;
+    private final int runLength;
+    private final int threshold;
+    // Código de 2 bits de cada carácter ASCII, o -1 si no pertenece al alfabeto
+    final byte[] codes = new byte[128];
+    // Letra de cada código de 2 bits (inversa de codes)
+    private final char[] bases = new char[MAX_ALPHABET];
+    private final String invalidBasesMessage;
+    // Se mezcla con la clave del ADN para que los veredictos de reglas distintas no se pisen en la caché
+    // ni en la base; null para reglas equivalentes a las estándar (mismas claves que antes)
+    private final DnaKey salt;
+
+    public DetectionRules(String name, String alphabet, int runLength, int threshold) {
+        if (alphabet == null || alphabet.isEmpty() || alphabet.length() > MAX_ALPHABET)
+            throw new IllegalArgumentException("El alfabeto del perfil " + name + " debe tener entre 1 y 4 letras");
+        if (alphabet.chars().distinct().count() != alphabet.length() || alphabet.chars().anyMatch(c -> c >= 128))
+            throw new IllegalArgumentException("El alfabeto del perfil " + name + " debe tener letras ASCII distintas");
+        if (runLength < MIN_RUN_LENGTH || runLength > MAX_RUN_LENGTH)
+            throw new IllegalArgumentException("El largo de secuencia del perfil " + name + " debe estar entre "
+                    + MIN_RUN_LENGTH + " y " + MAX_RUN_LENGTH);
+        if (threshold < 1)
+            throw new IllegalArgumentException("El umbral del perfil " + name + " debe ser al menos 1");
+        this.name = name;
+        this.alphabet = alphabet;
+        this.runLength = runLength;
+        this.threshold = threshold;
+
+        // Los códigos son los de PackedDna.encode cuando no chocan (ACGT, ACGU) y si no, la posición en el alfabeto
+        Arrays.fill(codes, (byte) -1);
+        final boolean encodeDistinct = alphabet.chars().map(c -> PackedDna.encode((char) c)).distinct().count()
+                == alphabet.length();
+        for (int i = 0; i < alphabet.length(); i++) {
+            final char base = alphabet.charAt(i);
+            codes[base] = (byte) (encodeDistinct ? PackedDna.encode(base) : i);
+            bases[codes[base]] = base;
+        }
+
+        this.invalidBasesMessage = "Las únicas letras permitidas son " + listBases(alphabet) + ".";
+        this.salt = equivalentTo(STANDARD_ALPHABET, SequenceEngine.SEQUENCE_LENGTH, 2) ? null : saltOf();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String alphabet() {
+        return alphabet;
+    }
+
+    public int runLength() {
+        return runLength;
+    }
+
+    public int threshold() {
+        return threshold;
+    }
+
+    public char base(int code) {
+        return bases[code];
+    }
+
+    public boolean isStandard() {
+        return salt == null;
+    }
+
+    // Clave del ADN bajo estas reglas
+    public DnaKey key(DnaKey dnaKey) {
+        if (salt == null) return dnaKey;
+        return new DnaKey(dnaKey.h0() ^ salt.h0(), dnaKey.h1() ^ salt.h1(),
+                dnaKey.h2() ^ salt.h2(), dnaKey.h3() ^ salt.h3());
+    }
+
+    InvalidDnaException invalidBases() {
+        return new InvalidDnaException(invalidBasesMessage);
+    }
+
+    private boolean equivalentTo(String sortedAlphabet, int runLength, int threshold) {
+        return sortedAlphabet().equals(sortedAlphabet) && this.runLength == runLength && this.threshold == threshold;
+    }
+
+    private String sortedAlphabet() {
+        char[] letters = alphabet.toCharArray();
+        Arrays.sort(letters);
+        return new String(letters);
+    }
+
+    // SHA-256 de los parámetros (no del nombre): dos perfiles con las mismas reglas comparten veredictos
+    private DnaKey saltOf() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String canonical = sortedAlphabet() + "/" + runLength + "/" + threshold;
+            return DnaKey.of(digest.digest(canonical.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DnaHashCalculationException("Error calculando hash", e);
+        }
+    }
+
+    // "A, T, C y G"
+    private static String listBases(String alphabet) {
+        StringBuilder bases = new StringBuilder();
+        for (int i = 0; i < alphabet.length(); i++) {
+            if (i > 0) bases.append(i == alphabet.length() - 1 ? " y " : ", ");
+            bases.append(alphabet.charAt(i));
+        }
+        return bases.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + alphabet + ", " + runLength + ", " + threshold + "]";
+    }
+}
@@ -0,0 +1,13 @@
+package com.main.MutantDetector.engine;
+
+import java.security.MessageDigest;
+
+// Estrategia de hash del ADN usada como clave de deduplicación
+public interface DnaHasher {
+    // Digest a alimentar con los bytes de cada fila durante el escaneo, o null si el hash
+    // se calcula al final sobre la matriz empaquetada
+    MessageDigest rowDigest();
+
+    // Clave final del ADN
+    DnaKey finish(MessageDigest digest, PackedDna matrix);
+}
@@ -0,0 +1,135 @@
+package com.main.MutantDetector.engine;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lectura en streaming del cuerpo {"dna": [...]}: recorre los tokens de Jackson y escribe cada fila
+// directamente en una matriz empaquetada del pool, validando y calculando el hash a medida que llegan.
+// Las filas se leen desde el buffer interno del parser, sin crear un String por fila ni el String[] completo,
+// y una fila inválida corta la lectura sin consumir el resto del cuerpo.
+@Component
+@RequiredArgsConstructor
+public class DnaJsonReader {
+    private final ObjectMapper objectMapper;
+    private final PackedDnaPool packedDnaPool;
+    private final DnaHasher dnaHasher;
+
+    public DnaSample read(InputStream body) throws IOException, InvalidDnaException {
+        return read(body, DetectionRules.STANDARD);
+    }
+
+    // Lee el ADN con el alfabeto de las reglas indicadas; la clave queda ligada a las reglas
+    public DnaSample read(InputStream body, DetectionRules rules) throws IOException, InvalidDnaException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new InvalidDnaException("El cuerpo debe ser un objeto JSON con el campo dna.");
+            return readObject(parser, rules);
+        }
+    }
+
+    // Lee un lote de muestras: un arreglo JSON [{"dna": [...]}, ...] o NDJSON (un objeto por línea).
+    // Si una muestra es inválida se liberan las ya leídas y se indica su posición.
+    public List<DnaSample> readBatch(InputStream body, int maxSamples, DetectionRules rules)
+            throws IOException, InvalidDnaException {
+        List<DnaSample> samples = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            final boolean array = token == JsonToken.START_ARRAY;
+            if (array) token = parser.nextToken();
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT)
+                    throw new InvalidDnaException("Cada muestra debe ser un objeto JSON con el campo dna.");
+                if (samples.size() == maxSamples)
+                    throw new InvalidDnaException("El lote supera el máximo de " + maxSamples + " muestras.");
+                try {
+                    samples.add(readObject(parser, rules));
+                } catch (InvalidDnaException e) {
+                    throw new InvalidDnaException("Muestra " + samples.size() + ": " + e.getMessage());
+                }
+                token = parser.nextToken();
+            }
+            if (array && token == null)
+                throw new InvalidDnaException("El lote debe terminar con ']'.");
+            if (samples.isEmpty())
+                throw new InvalidDnaException("El lote no puede estar vacío.");
+            return samples;
+        } catch (IOException | InvalidDnaException | RuntimeException e) {
+            samples.forEach(sample -> packedDnaPool.release(sample.matrix()));
+            throw e;
+        }
+    }
+
+    // Lee un objeto {"dna": [...]} a partir de su START_OBJECT (ignora otros campos)
+    public DnaSample readObject(JsonParser parser, DetectionRules rules) throws IOException, InvalidDnaException {
+        DnaSample sample = null;
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("dna".equals(field) && sample == null) {
+                    sample = readDna(parser, rules);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException | InvalidDnaException | RuntimeException e) {
+            if (sample != null) packedDnaPool.release(sample.matrix());
+            throw e;
+        }
+        if (sample == null)
+            throw new InvalidDnaException("La cadena de DNA no puede ser nula.");
+        return sample;
+    }
+
+    private DnaSample readDna(JsonParser parser, DetectionRules rules) throws IOException, InvalidDnaException {
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+            throw new InvalidDnaException("El DNA debe ser un arreglo de cadenas.");
+
+        MessageDigest digest = dnaHasher.rowDigest();
+        PackedDna matrix = null;
+        byte[] ascii = null;
+        int row = 0;
+        try {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.VALUE_STRING)
+                    throw new InvalidDnaException("El DNA debe ser un arreglo de cadenas.");
+                final int length = parser.getTextLength();
+                if (matrix == null) {
+                    // N se conoce con la primera fila: la matriz es cuadrada, pero las filas se reservan a medida
+                    // que llegan para que un primer string largo no reserve N x N palabras de entrada
+                    if (length == 0) throw new InvalidDnaException("El DNA no puede estar vacío");
+                    try {
+                        matrix = packedDnaPool.acquire(length, 1);
+                    } catch (IllegalArgumentException e) {
+                        throw new InvalidDnaException("El DNA es demasiado grande.");
+                    }
+                    ascii = digest != null ? new byte[length] : null;
+                }
+                if (row >= matrix.size() || length != matrix.size())
+                    throw new InvalidDnaException("El DNA debe ser una matriz cuadrada.");
+                matrix.ensureRows(row + 1);
+                DnaScanner.packRow(parser.getTextCharacters(), parser.getTextOffset(), matrix, row, ascii, rules);
+                if (digest != null) digest.update(ascii, 0, length);
+                row++;
+            }
+            if (matrix == null)
+                throw new InvalidDnaException("La cadena de DNA no puede estar vacía.");
+            if (row != matrix.size())
+                throw new InvalidDnaException("El DNA debe ser una matriz cuadrada.");
+        } catch (IOException | InvalidDnaException | RuntimeException e) {
+            packedDnaPool.release(matrix);
+            throw e;
+        }
+        return new DnaSample(matrix, rules.key(dnaHasher.finish(digest, matrix)), rules);
+    }
+}
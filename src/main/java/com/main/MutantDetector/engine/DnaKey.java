@@ -0,0 +1,19 @@
+package com.main.MutantDetector.engine;
+
+import java.nio.ByteBuffer;
+
+// Clave binaria de 32 bytes de un ADN guardada como 4 longs: se compara y se usa como clave de mapas
+// sin arreglos ni strings hexadecimales. La huella de 128 bits ocupa h0 y h1 (h2 = h3 = 0).
+public record DnaKey(long h0, long h1, long h2, long h3) {
+    public static final int BYTES = 32;
+
+    public static DnaKey of(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new DnaKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    // Representación para la columna BINARY(32) dna_hash
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(BYTES).putLong(h0).putLong(h1).putLong(h2).putLong(h3).array();
+    }
+}
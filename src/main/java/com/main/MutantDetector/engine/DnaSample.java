@@ -0,0 +1,10 @@
+package com.main.MutantDetector.engine;
+
+// Resultado del escaneo de un ADN: la matriz empaquetada lista para detectar, su clave de deduplicación
+// y las reglas con las que se leyó (y con las que se tiene que detectar)
+public record DnaSample(
+        PackedDna matrix,
+        DnaKey key,
+        DetectionRules rules
+) {
+}
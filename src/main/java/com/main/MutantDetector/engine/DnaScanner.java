@@ -0,0 +1,93 @@
+package com.main.MutantDetector.engine;
+
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+
+// Lectura en una sola pasada del ADN: cada base se lee una vez para validar el alfabeto y la forma,
+// empaquetarla en la matriz de detección y alimentar el hash. El alfabeto sale de las reglas de detección
+// (por defecto las estándar: A, T, C y G).
+@Component
+@RequiredArgsConstructor
+public class DnaScanner {
+    private final DnaHasher dnaHasher;
+
+    // Valida, empaqueta y calcula el hash del ADN
+    public DnaSample scan(String[] dna) throws InvalidDnaException {
+        return scan(dna, DetectionRules.STANDARD);
+    }
+
+    // Igual que scan(String[]) con el alfabeto de las reglas; la clave queda ligada a las reglas
+    public DnaSample scan(String[] dna, DetectionRules rules) throws InvalidDnaException {
+        MessageDigest digest = dnaHasher.rowDigest();
+        PackedDna matrix = read(dna, new PackedDna(checkShape(dna)), digest, rules);
+        return new DnaSample(matrix, rules.key(dnaHasher.finish(digest, matrix)), rules);
+    }
+
+    // Valida y empaqueta el ADN, sin calcular el hash
+    public PackedDna pack(String[] dna) throws InvalidDnaException {
+        return read(dna, new PackedDna(checkShape(dna)), null, DetectionRules.STANDARD);
+    }
+
+    // Valida y empaqueta el ADN en una matriz del pool (sin asignar memoria en régimen).
+    // Quien la recibe debe devolverla con pool.release; si el ADN es inválido se devuelve acá.
+    public PackedDna pack(String[] dna, PackedDnaPool pool) throws InvalidDnaException {
+        PackedDna matrix = pool.acquire(checkShape(dna));
+        try {
+            return read(dna, matrix, null, DetectionRules.STANDARD);
+        } catch (InvalidDnaException | RuntimeException e) {
+            pool.release(matrix);
+            throw e;
+        }
+    }
+
+    // Solo valida el ADN, sin copiarlo
+    public void validate(String[] dna) throws InvalidDnaException {
+        final DetectionRules rules = DetectionRules.STANDARD;
+        checkShape(dna);
+        for (String row : dna) {
+            checkRow(row, dna.length);
+            for (int col = 0; col < row.length(); col++) {
+                if (PackedDna.code(rules.codes, row.charAt(col)) < 0) throw rules.invalidBases();
+            }
+        }
+    }
+
+    private PackedDna read(String[] dna, PackedDna matrix, MessageDigest digest, DetectionRules rules)
+            throws InvalidDnaException {
+        final int n = dna.length;
+        final byte[] ascii = digest != null ? new byte[n] : null;
+        final char[] chars = new char[n];
+        for (int row = 0; row < n; row++) {
+            String bases = dna[row];
+            checkRow(bases, n);
+            bases.getChars(0, n, chars, 0);
+            packRow(chars, 0, matrix, row, ascii, rules);
+            if (digest != null) digest.update(ascii, 0, n);
+        }
+        return matrix;
+    }
+
+    // Valida y empaqueta una fila leyendo `bases[offset..offset + N)` (el buffer de caracteres del parser JSON
+    // o la copia de un String); si `ascii` no es null copia sus bytes para el hash.
+    // Se detiene en el primer carácter inválido.
+    static void packRow(char[] bases, int offset, PackedDna matrix, int row, byte[] ascii,
+                        DetectionRules rules) throws InvalidDnaException {
+        if (!matrix.packRow(row, bases, offset, rules.codes, ascii)) throw rules.invalidBases();
+    }
+
+    private static int checkShape(String[] dna) throws InvalidDnaException {
+        if (dna == null || dna.length == 0)
+            throw new InvalidDnaException("El DNA no puede estar vacío");
+        return dna.length;
+    }
+
+    static void checkRow(String row, int n) throws InvalidDnaException {
+        if (row == null || row.isEmpty())
+            throw new InvalidDnaException("El DNA no puede estar vacío");
+        if (row.length() != n)
+            throw new InvalidDnaException("El DNA debe ser una matriz cuadrada.");
+    }
+}
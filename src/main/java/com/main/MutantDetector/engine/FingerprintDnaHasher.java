@@ -0,0 +1,72 @@
+package com.main.MutantDetector.engine;
+
+import java.security.MessageDigest;
+
+// Huella no criptográfica de 128 bits (mezcla de MurmurHash3 x64 128) calculada sobre las palabras
+// de la matriz empaquetada: procesa 32 bases por palabra en lugar de un byte por base.
+// Para despliegues que no necesitan SHA-256; las claves no son compatibles con las de SHA-256.
+public class FingerprintDnaHasher implements DnaHasher {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    @Override
+    public MessageDigest rowDigest() {
+        return null;
+    }
+
+    @Override
+    public DnaKey finish(MessageDigest digest, PackedDna matrix) {
+        final long[] w = matrix.words();
+        final int n = matrix.size();
+        long h1 = n;
+        long h2 = n;
+        long pending = 0;
+        boolean hasPending = false;
+        for (int row = 0; row < n; row++) {
+            final int offset = matrix.rowOffset(row);
+            for (int i = 0; i < matrix.wordsPerRow(); i++) {
+                if (!hasPending) {
+                    pending = w[offset + i];
+                    hasPending = true;
+                    continue;
+                }
+                h1 ^= mixK1(pending);
+                h1 = Long.rotateLeft(h1, 27) + h2;
+                h1 = h1 * 5 + 0x52dce729;
+                h2 ^= mixK2(w[offset + i]);
+                h2 = Long.rotateLeft(h2, 31) + h1;
+                h2 = h2 * 5 + 0x38495ab5;
+                hasPending = false;
+            }
+        }
+        if (hasPending) h1 ^= mixK1(pending);
+
+        final long length = (long) n * matrix.wordsPerRow();
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new DnaKey(h1, h2, 0L, 0L);
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
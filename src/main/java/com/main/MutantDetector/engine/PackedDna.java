@@ -0,0 +1,135 @@
+package com.main.MutantDetector.engine;
+
+import java.util.Arrays;
+
+// Matriz de ADN empaquetada a 2 bits por base: cada palabra de 64 bits guarda 32 bases de una fila.
+// Cada fila lleva una palabra de guarda (en cero) a cada lado para que los desplazamientos
+// entre palabras vecinas no necesiten chequear bordes.
+public final class PackedDna {
+    public static final int BASES_PER_WORD = 32;
+    // Máximo de palabras de un long[] (algunas JVM reservan unas palabras de encabezado)
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private int size;
+    private int wordsPerRow;
+    private int stride;
+    private int reservedRows;
+    private long[] words;
+
+    public PackedDna(int size) {
+        this.words = new long[0];
+        reset(size);
+    }
+
+    // Reutiliza el buffer para una matriz de otro tamaño; solo se agranda si no alcanza la capacidad.
+    public void reset(int size) {
+        reset(size, size);
+    }
+
+    // Igual que reset(size) pero reserva lugar solo para las primeras `rows` filas; las demás se reservan con
+    // ensureRows a medida que se cargan (en la lectura en streaming la memoria sigue a las filas recibidas)
+    public void reset(int size, int rows) {
+        final int wordsPerRow = (size + BASES_PER_WORD - 1) / BASES_PER_WORD;
+        if ((long) size * (wordsPerRow + 2) > MAX_WORDS)
+            throw new IllegalArgumentException("Matriz de " + size + " x " + size + " demasiado grande");
+        this.size = size;
+        this.wordsPerRow = wordsPerRow;
+        this.stride = wordsPerRow + 2;
+        this.reservedRows = 0;
+        ensureRows(rows);
+    }
+
+    // Asegura lugar para las primeras `rows` filas (agranda al doble para no copiar fila por fila).
+    // Las filas se sobrescriben completas al cargarlas, así que solo hace falta limpiar las guardas.
+    public void ensureRows(int rows) {
+        if (rows <= reservedRows) return;
+        rows = Math.min(size, Math.max(rows, reservedRows * 2));
+        final int required = rows * stride;
+        if (words.length < required) {
+            words = reservedRows == 0 ? new long[required] : Arrays.copyOf(words, required);
+        }
+        for (int row = reservedRows; row < rows; row++) {
+            words[row * stride] = 0L;
+            words[row * stride + stride - 1] = 0L;
+        }
+        reservedRows = rows;
+    }
+
+    // Empaqueta una matriz ya validada (filas de largo N con bases A, T, C o G)
+    public static PackedDna pack(String[] dna) {
+        PackedDna packed = new PackedDna(dna.length);
+        for (int row = 0; row < dna.length; row++) {
+            packed.setRow(row, dna[row]);
+        }
+        return packed;
+    }
+
+    // Codifica A=0, C=1, T=2, G=3 usando los bits 1 y 2 del código ASCII (sin ramas)
+    public static int encode(char base) {
+        return (base >> 1) & 3;
+    }
+
+    // Empaqueta una fila ya validada con la codificación estándar (A, T, C y G)
+    public void setRow(int row, CharSequence bases) {
+        final char[] chars = bases.toString().toCharArray();
+        if (!packRow(row, chars, 0, DetectionRules.STANDARD.codes, null))
+            throw new IllegalArgumentException("Base inválida en la fila " + row);
+    }
+
+    // Empaqueta la fila desde `bases[offset..offset + N)` con la tabla de códigos de 2 bits del alfabeto
+    // (ver DetectionRules) y, si `ascii` no es null, copia sus bytes. false en el primer carácter inválido
+    boolean packRow(int row, char[] bases, int offset, byte[] codes, byte[] ascii) {
+        final int rowOffset = rowOffset(row);
+        long word = 0;
+        for (int col = 0; col < size; col++) {
+            final char base = bases[offset + col];
+            final int code = code(codes, base);
+            if (code < 0) return false;
+            word |= (long) code << ((col & (BASES_PER_WORD - 1)) << 1);
+            if ((col & (BASES_PER_WORD - 1)) == BASES_PER_WORD - 1) {
+                words[rowOffset + (col >>> 5)] = word;
+                word = 0;
+            }
+            if (ascii != null) ascii[col] = (byte) base;
+        }
+        if ((size & (BASES_PER_WORD - 1)) != 0) {
+            words[rowOffset + wordsPerRow - 1] = word;
+        }
+        return true;
+    }
+
+    // Código de 2 bits de la base según la tabla del alfabeto, o -1 si no pertenece
+    static int code(byte[] codes, char base) {
+        return base < codes.length ? codes[base] : -1;
+    }
+
+    // Código de 2 bits de la base en (row, col)
+    public int code(int row, int col) {
+        return (int) (words[rowOffset(row) + (col >>> 5)] >>> ((col & (BASES_PER_WORD - 1)) << 1)) & 3;
+    }
+
+    // Índice de la primera palabra útil de la fila (la guarda izquierda está en rowOffset - 1)
+    public int rowOffset(int row) {
+        return row * stride + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    public long[] words() {
+        return words;
+    }
+
+    public int capacity() {
+        return words.length;
+    }
+}
@@ -0,0 +1,37 @@
+package com.main.MutantDetector.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Pool de matrices empaquetadas reutilizables: evita reservar un long[] nuevo por request.
+// Las matrices de más de MAX_RETAINED_WORDS palabras (512 KiB) no se retienen para no fijar memoria después de
+// un pico: el pool retiene como mucho 64 x 512 KiB = 32 MiB. Una matriz completa ocupa N * (N / 32 + 2) palabras,
+// así que el corte queda en N ~ 1400 (1408 x 46 entran, 1440 x 47 no); como el long[] conserva el tamaño más grande
+// que tuvo (ensureRows agranda al doble), una matriz que pasó por un N mayor tampoco vuelve al pool.
+@Component
+public class PackedDnaPool {
+    private static final int MAX_POOLED = 64;
+    private static final int MAX_RETAINED_WORDS = 1 << 16;
+
+    private final BlockingQueue<PackedDna> free = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    public PackedDna acquire(int size) {
+        return acquire(size, size);
+    }
+
+    // Matriz de N = size con lugar reservado solo para las primeras `rows` filas (ver PackedDna.ensureRows)
+    public PackedDna acquire(int size, int rows) {
+        PackedDna matrix = free.poll();
+        if (matrix == null) matrix = new PackedDna(0);
+        matrix.reset(size, rows);
+        return matrix;
+    }
+
+    public void release(PackedDna matrix) {
+        if (matrix != null && matrix.capacity() <= MAX_RETAINED_WORDS) {
+            free.offer(matrix);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.main.MutantDetector.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Motor de detección sobre la matriz empaquetada: compara 32 bases por operación.
+// Para cada dirección arma una máscara con un bit por columna donde empieza una secuencia
+// de 4 bases iguales y la cuenta con Long.bitCount, sin ramas por celda.
+public class PackedSequenceEngine implements SequenceEngine {
+    // Bit bajo de cada par de bits: un bit por base
+    static final long LOW_BITS = 0x5555555555555555L;
+
+    // Buffers de máscaras reutilizables entre llamadas (sin asignar memoria por request en régimen):
+    // crecen hasta el N más grande visto y los muy grandes no se retienen, igual que PackedDnaPool
+    private static final int MAX_POOLED_SCRATCH = 64;
+    private static final int MAX_RETAINED_SCRATCH_WORDS = 1 << 16;
+
+    // Filas de máscaras de pares en el buffer de countRows: horizontal de la fila actual y
+    // 4 filas (r-1 .. r+2) en anillo para vertical, diagonal descendente y diagonal ascendente
+    private static final int RING = 4;
+    private static final int HORIZONTAL = 0;
+    private static final int VERTICAL = 1;
+    private static final int DESC = VERTICAL + RING;
+    private static final int ASC = DESC + RING;
+    private static final int MASK_ROWS = ASC + RING;
+
+    private final BlockingQueue<long[]> scratch = new ArrayBlockingQueue<>(MAX_POOLED_SCRATCH);
+
+    // Recorrido por filas con máscaras de pares deslizantes (pre-filtro barato antes del chequeo completo).
+    // Una secuencia de 4 son 3 pares consecutivos de bases iguales: la máscara de pares entre las filas
+    // p y p+1 se calcula una sola vez y la reutilizan las 3 filas que la necesitan, así cada fila cuesta
+    // una comparación por dirección en lugar de cuatro. Si una máscara de pares queda vacía, ninguna
+    // secuencia de esa dirección puede cruzarla y las filas que dependen de ella se saltean sin recorrerlas.
+    @Override
+    public int countRows(PackedDna dna, int fromRow, int toRow, int limit) {
+        final long[] w = dna.words();
+        final int n = dna.size();
+        final int stride = dna.stride();
+        final int wordsPerRow = dna.wordsPerRow();
+        // Las columnas de relleno de la última palabra son iguales entre sí (cero): se descartan de las
+        // máscaras de pares para que no marquen como posible una fila que no lo es
+        final long lastWordMask = rangeMask(wordsPerRow - 1, 0, n);
+
+        final long[] masks = acquireScratch(stride);
+        try {
+            return countRows(dna, w, masks, fromRow, toRow, limit, n, stride, wordsPerRow, lastWordMask);
+        } finally {
+            releaseScratch(masks);
+        }
+    }
+
+    private static int countRows(PackedDna dna, long[] w, long[] masks, int fromRow, int toRow, int limit,
+                                 int n, int stride, int wordsPerRow, long lastWordMask) {
+        final int lastPair = n - 2;
+        final int lastCrossRow = n - SEQUENCE_LENGTH;
+        // Un bit por fila del anillo: la máscara de pares de esa fila tiene alguna columna en 1
+        int anyVertical = 0, anyDesc = 0, anyAsc = 0;
+
+        int nextPair = Math.max(fromRow - 1, 0);
+        int count = 0;
+        for (int row = fromRow; row < toRow && count < limit; row++) {
+            final int needed = Math.min(row + 2, lastPair);
+            for (; nextPair <= needed; nextPair++) {
+                final int slot = nextPair & (RING - 1);
+                final int src = dna.rowOffset(nextPair);
+                final int v = (VERTICAL + slot) * stride + 1;
+                final int d = (DESC + slot) * stride + 1;
+                final int a = (ASC + slot) * stride + 1;
+                long orV = 0, orD = 0, orA = 0;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    final long top = w[src + i];
+                    final long valid = i == wordsPerRow - 1 ? lastWordMask : -1L;
+                    orV |= masks[v + i] = eq(top, w[src + stride + i]) & valid;
+                    orD |= masks[d + i] = eq(top, toLower(w, src + stride + i, 1)) & valid;
+                    orA |= masks[a + i] = eq(top, toHigher(w, src + stride + i, 1)) & valid;
+                }
+                final int bit = 1 << slot;
+                anyVertical = orV != 0 ? anyVertical | bit : anyVertical & ~bit;
+                anyDesc = orD != 0 ? anyDesc | bit : anyDesc & ~bit;
+                anyAsc = orA != 0 ? anyAsc | bit : anyAsc & ~bit;
+            }
+
+            count += horizontalRowStarts(w, masks, dna.rowOffset(row), stride, n, wordsPerRow, lastWordMask);
+            if (row > lastCrossRow) continue;
+
+            final int s0 = row & (RING - 1), s1 = (row + 1) & (RING - 1), s2 = (row + 2) & (RING - 1);
+            final int sp = (row - 1) & (RING - 1);
+            final boolean hasPrevious = row != 0;
+            final int window = (1 << s0) | (1 << s1) | (1 << s2);
+            if ((anyVertical & window) == window) {
+                final int m0 = (VERTICAL + s0) * stride + 1, m1 = (VERTICAL + s1) * stride + 1;
+                final int m2 = (VERTICAL + s2) * stride + 1, mp = (VERTICAL + sp) * stride + 1;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    long run = masks[m0 + i] & masks[m1 + i] & masks[m2 + i];
+                    if (run == 0) continue;
+                    if (hasPrevious) run &= ~masks[mp + i];
+                    count += Long.bitCount(run & rangeMask(i, 0, n));
+                }
+            }
+            if ((anyDesc & window) == window) {
+                final int m0 = (DESC + s0) * stride + 1, m1 = (DESC + s1) * stride + 1;
+                final int m2 = (DESC + s2) * stride + 1, mp = (DESC + sp) * stride + 1;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    long run = masks[m0 + i] & toLower(masks, m1 + i, 1) & toLower(masks, m2 + i, 2);
+                    if (run == 0) continue;
+                    if (hasPrevious) run &= ~(toHigher(masks, mp + i, 1) & rangeMask(i, 1, n));
+                    count += Long.bitCount(run & rangeMask(i, 0, n - SEQUENCE_LENGTH + 1));
+                }
+            }
+            if ((anyAsc & window) == window) {
+                final int m0 = (ASC + s0) * stride + 1, m1 = (ASC + s1) * stride + 1;
+                final int m2 = (ASC + s2) * stride + 1, mp = (ASC + sp) * stride + 1;
+                for (int i = 0; i < wordsPerRow; i++) {
+                    long run = masks[m0 + i] & toHigher(masks, m1 + i, 1) & toHigher(masks, m2 + i, 2);
+                    if (run == 0) continue;
+                    if (hasPrevious) run &= ~(toLower(masks, mp + i, 1) & rangeMask(i, 0, n - 1));
+                    count += Long.bitCount(run & rangeMask(i, SEQUENCE_LENGTH - 1, n));
+                }
+            }
+        }
+        return count;
+    }
+
+    // Buffer con MASK_ROWS filas de máscaras; cada fila conserva sus guardas en cero para los
+    // desplazamientos entre palabras (un buffer reutilizado pudo tener otro stride)
+    private long[] acquireScratch(int stride) {
+        final int required = MASK_ROWS * stride;
+        long[] masks = scratch.poll();
+        if (masks == null || masks.length < required) return new long[required];
+        for (int row = 0; row < MASK_ROWS; row++) {
+            masks[row * stride] = 0L;
+            masks[row * stride + stride - 1] = 0L;
+        }
+        return masks;
+    }
+
+    private void releaseScratch(long[] masks) {
+        if (masks.length <= MAX_RETAINED_SCRATCH_WORDS) {
+            scratch.offer(masks);
+        }
+    }
+
+    // Secuencias horizontales que empiezan en la fila: máscara de pares de la fila (base c igual a c+1)
+    // y luego 3 pares consecutivos sin par anterior
+    private static int horizontalRowStarts(long[] w, long[] masks, int src, int stride, int n, int wordsPerRow,
+                                           long lastWordMask) {
+        final int h = HORIZONTAL * stride + 1;
+        long any = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            final long valid = i == wordsPerRow - 1 ? lastWordMask : -1L;
+            any |= masks[h + i] = eq(w[src + i], toLower(w, src + i, 1)) & valid;
+        }
+        if (any == 0) return 0;
+        int count = 0;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long run = masks[h + i] & toLower(masks, h + i, 1) & toLower(masks, h + i, 2);
+            if (run == 0) continue;
+            run &= ~(toHigher(masks, h + i, 1) & rangeMask(i, 1, n));
+            count += Long.bitCount(run & rangeMask(i, 0, n - SEQUENCE_LENGTH + 1));
+        }
+        return count;
+    }
+
+    @Override
+    public int countRow(PackedDna dna, int row) {
+        final long[] w = dna.words();
+        final int offset = dna.rowOffset(row);
+        final boolean crossRows = row <= dna.size() - SEQUENCE_LENGTH;
+
+        int count = 0;
+        for (int i = 0; i < dna.wordsPerRow(); i++) {
+            count += countWord(w, offset + i, dna.stride(), row, dna.size(), i, crossRows);
+        }
+        return count;
+    }
+
+    // Secuencias que empiezan en las 32 columnas de una palabra de la fila
+    static int countWord(long[] w, int idx, int stride, int row, int n, int word, boolean crossRows) {
+        int count = Long.bitCount(horizontalStarts(w, idx, n, word));
+        if (crossRows) {
+            count += Long.bitCount(verticalStarts(w, idx, stride, row, n, word));
+            count += Long.bitCount(diagonalDescStarts(w, idx, stride, row, n, word));
+            count += Long.bitCount(diagonalAscStarts(w, idx, stride, row, n, word));
+        }
+        return count;
+    }
+
+    // Verificación horizontal: la base c es igual a c+1, c+2 y c+3, y distinta de c-1 (evita superpuestas)
+    static long horizontalStarts(long[] w, int idx, int n, int word) {
+        final long a = w[idx];
+        final long run = eq(a, toLower(w, idx, 1)) & eq(a, toLower(w, idx, 2)) & eq(a, toLower(w, idx, 3));
+        final long previous = eq(a, toHigher(w, idx, 1)) & rangeMask(word, 1, n);
+        return run & ~previous & rangeMask(word, 0, n - SEQUENCE_LENGTH + 1);
+    }
+
+    // Verificación vertical: misma columna en las 3 filas siguientes, distinta de la fila anterior
+    static long verticalStarts(long[] w, int idx, int stride, int row, int n, int word) {
+        final long a = w[idx];
+        final long run = eq(a, w[idx + stride]) & eq(a, w[idx + 2 * stride]) & eq(a, w[idx + 3 * stride]);
+        final long previous = row != 0 ? eq(a, w[idx - stride]) : 0L;
+        return run & ~previous & rangeMask(word, 0, n);
+    }
+
+    // Verificación diagonal descendente: la fila r+k se desplaza k bases hacia la izquierda
+    static long diagonalDescStarts(long[] w, int idx, int stride, int row, int n, int word) {
+        final long a = w[idx];
+        final long run = eq(a, toLower(w, idx + stride, 1))
+                & eq(a, toLower(w, idx + 2 * stride, 2))
+                & eq(a, toLower(w, idx + 3 * stride, 3));
+        final long previous = row != 0 ? eq(a, toHigher(w, idx - stride, 1)) & rangeMask(word, 1, n) : 0L;
+        return run & ~previous & rangeMask(word, 0, n - SEQUENCE_LENGTH + 1);
+    }
+
+    // Verificación diagonal ascendente, anclada en su extremo superior derecho:
+    // la fila r+k se desplaza k bases hacia la derecha
+    static long diagonalAscStarts(long[] w, int idx, int stride, int row, int n, int word) {
+        final long a = w[idx];
+        final long run = eq(a, toHigher(w, idx + stride, 1))
+                & eq(a, toHigher(w, idx + 2 * stride, 2))
+                & eq(a, toHigher(w, idx + 3 * stride, 3));
+        final long previous = row != 0 ? eq(a, toLower(w, idx - stride, 1)) & rangeMask(word, 0, n - 1) : 0L;
+        return run & ~previous & rangeMask(word, SEQUENCE_LENGTH - 1, n);
+    }
+
+    // Un bit (el bajo de cada par) por cada base igual entre a y b
+    static long eq(long a, long b) {
+        final long x = a ^ b;
+        return ~(x | (x >>> 1)) & LOW_BITS;
+    }
+
+    // Palabra cuya posición c contiene la base c+k de la fila (1 <= k < 32)
+    static long toLower(long[] w, int idx, int k) {
+        return (w[idx] >>> (k << 1)) | (w[idx + 1] << (64 - (k << 1)));
+    }
+
+    // Palabra cuya posición c contiene la base c-k de la fila (1 <= k < 32)
+    static long toHigher(long[] w, int idx, int k) {
+        return (w[idx] << (k << 1)) | (w[idx - 1] >>> (64 - (k << 1)));
+    }
+
+    // Bits de las columnas [from, to) que caen dentro de la palabra indicada
+    static long rangeMask(int word, int from, int to) {
+        final int base = word * PackedDna.BASES_PER_WORD;
+        final int lo = Math.max(from - base, 0);
+        final int hi = Math.min(to - base, PackedDna.BASES_PER_WORD);
+        if (lo >= hi) return 0L;
+        final long upper = hi == PackedDna.BASES_PER_WORD ? -1L : (1L << (hi << 1)) - 1;
+        return upper & ~((1L << (lo << 1)) - 1) & LOW_BITS;
+    }
+}
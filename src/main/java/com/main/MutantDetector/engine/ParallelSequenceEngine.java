@@ -0,0 +1,91 @@
+package com.main.MutantDetector.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recorre matrices grandes en paralelo: divide las filas en bandas y las procesa en un ForkJoinPool.
+// Cada banda es dueña de las secuencias que empiezan en sus filas y lee hasta runLength - 1 filas de la banda
+// siguiente (superposición), así ninguna secuencia se cuenta dos veces ni se pierde en los cortes.
+// Debajo del umbral de N delega en el recorrido secuencial para no pagar el costo de fork/join.
+public class ParallelSequenceEngine implements SequenceEngine {
+    private static final int MIN_BAND_ROWS = 16;
+    private static final int CHUNK_ROWS = 64;
+
+    private final SequenceEngine delegate;
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelSequenceEngine(SequenceEngine delegate, int threshold, ForkJoinPool pool) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    @Override
+    public int runLength() {
+        return delegate.runLength();
+    }
+
+    // Otro largo de secuencia también se recorre por bandas, con el mismo umbral y pool
+    @Override
+    public SequenceEngine withRunLength(int runLength) {
+        return runLength == runLength() ? this
+                : new ParallelSequenceEngine(delegate.withRunLength(runLength), threshold, pool);
+    }
+
+    @Override
+    public int countRow(PackedDna dna, int row) {
+        return delegate.countRow(dna, row);
+    }
+
+    @Override
+    public int countSequences(PackedDna dna, int limit) {
+        if (dna.size() < threshold) {
+            return delegate.countSequences(dna, limit);
+        }
+        // Contador global compartido por todas las bandas: al llegar a `limit` se cancela el resto
+        AtomicInteger found = new AtomicInteger();
+        int bandRows = Math.max(MIN_BAND_ROWS, dna.size() / (pool.getParallelism() * 4));
+        pool.invoke(new BandTask(dna, 0, dna.size(), bandRows, found, limit));
+        return found.get();
+    }
+
+    private class BandTask extends RecursiveAction {
+        private final PackedDna dna;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+        private final AtomicInteger found;
+        private final int limit;
+
+        BandTask(PackedDna dna, int fromRow, int toRow, int bandRows, AtomicInteger found, int limit) {
+            this.dna = dna;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+            this.found = found;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() >= limit) return;
+            if (toRow - fromRow > bandRows) {
+                int middle = (fromRow + toRow) >>> 1;
+                invokeAll(new BandTask(dna, fromRow, middle, bandRows, found, limit),
+                        new BandTask(dna, middle, toRow, bandRows, found, limit));
+                return;
+            }
+            // La banda se recorre en tramos para que el motor reutilice trabajo entre filas consecutivas
+            // y, entre tramos, revisar si otra banda ya alcanzó el límite
+            for (int row = fromRow; row < toRow; row += CHUNK_ROWS) {
+                // Early Termination global: otra banda ya encontró las secuencias necesarias
+                final int pending = limit - found.get();
+                if (pending <= 0) return;
+                int count = delegate.countRows(dna, row, Math.min(row + CHUNK_ROWS, toRow), pending);
+                if (count > 0) found.addAndGet(count);
+            }
+        }
+    }
+}
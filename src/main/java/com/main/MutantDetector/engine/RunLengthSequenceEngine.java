@@ -0,0 +1,84 @@
+package com.main.MutantDetector.engine;
+
+import static com.main.MutantDetector.engine.PackedSequenceEngine.eq;
+import static com.main.MutantDetector.engine.PackedSequenceEngine.rangeMask;
+import static com.main.MutantDetector.engine.PackedSequenceEngine.toHigher;
+import static com.main.MutantDetector.engine.PackedSequenceEngine.toLower;
+
+// Motor para secuencias de cualquier largo (2 a 32 bases) sobre la matriz empaquetada.
+// Mismo esquema que PackedSequenceEngine.countWord pero con el largo como parámetro: la comparación
+// se corta apenas la máscara queda vacía. Las reglas con secuencias de 4 usan el motor especializado.
+public class RunLengthSequenceEngine implements SequenceEngine {
+    private final int runLength;
+
+    public RunLengthSequenceEngine(int runLength) {
+        if (runLength < DetectionRules.MIN_RUN_LENGTH || runLength > DetectionRules.MAX_RUN_LENGTH)
+            throw new IllegalArgumentException("Largo de secuencia fuera de rango: " + runLength);
+        this.runLength = runLength;
+    }
+
+    @Override
+    public int runLength() {
+        return runLength;
+    }
+
+    @Override
+    public int countRow(PackedDna dna, int row) {
+        final long[] w = dna.words();
+        final int n = dna.size();
+        final int stride = dna.stride();
+        final int offset = dna.rowOffset(row);
+        final boolean crossRows = row <= n - runLength;
+
+        int count = 0;
+        for (int i = 0; i < dna.wordsPerRow(); i++) {
+            final int idx = offset + i;
+            count += Long.bitCount(horizontalStarts(w, idx, n, i, runLength));
+            if (crossRows) {
+                count += Long.bitCount(verticalStarts(w, idx, stride, row, n, i, runLength));
+                count += Long.bitCount(diagonalDescStarts(w, idx, stride, row, n, i, runLength));
+                count += Long.bitCount(diagonalAscStarts(w, idx, stride, row, n, i, runLength));
+            }
+        }
+        return count;
+    }
+
+    // Máscaras con un bit por columna de la palabra donde empieza una secuencia de `runLength` o más
+    // bases en cada dirección (también las usa SequenceReporter)
+    static long horizontalStarts(long[] w, int idx, int n, int word, int runLength) {
+        final long a = w[idx];
+        long run = rangeMask(word, 0, n - runLength + 1);
+        for (int k = 1; k < runLength && run != 0; k++) {
+            run &= eq(a, toLower(w, idx, k));
+        }
+        return run & ~(eq(a, toHigher(w, idx, 1)) & rangeMask(word, 1, n));
+    }
+
+    static long verticalStarts(long[] w, int idx, int stride, int row, int n, int word, int runLength) {
+        final long a = w[idx];
+        long run = rangeMask(word, 0, n);
+        for (int k = 1; k < runLength && run != 0; k++) {
+            run &= eq(a, w[idx + k * stride]);
+        }
+        return row != 0 ? run & ~eq(a, w[idx - stride]) : run;
+    }
+
+    static long diagonalDescStarts(long[] w, int idx, int stride, int row, int n, int word, int runLength) {
+        final long a = w[idx];
+        long run = rangeMask(word, 0, n - runLength + 1);
+        for (int k = 1; k < runLength && run != 0; k++) {
+            run &= eq(a, toLower(w, idx + k * stride, k));
+        }
+        return row != 0 ? run & ~(eq(a, toHigher(w, idx - stride, 1)) & rangeMask(word, 1, n)) : run;
+    }
+
+    // Anclada en su extremo superior derecho, como en PackedSequenceEngine
+    static long diagonalAscStarts(long[] w, int idx, int stride, int row, int n, int word, int runLength) {
+        final long a = w[idx];
+        long run = rangeMask(word, runLength - 1, n);
+        for (int k = 1; k < runLength && run != 0; k++) {
+            run &= eq(a, toHigher(w, idx + k * stride, k));
+        }
+        return row != 0 ? run & ~(eq(a, toLower(w, idx - stride, 1)) & rangeMask(word, 0, n - 1)) : run;
+    }
+}
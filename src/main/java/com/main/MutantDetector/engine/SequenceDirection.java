@@ -0,0 +1,25 @@
+package com.main.MutantDetector.engine;
+
+// Dirección de una secuencia, con el paso (fila, columna) desde su primera base
+public enum SequenceDirection {
+    HORIZONTAL(0, 1),
+    VERTICAL(1, 0),
+    DIAGONAL_DESCENDENTE(1, 1),
+    DIAGONAL_ASCENDENTE(-1, 1);
+
+    private final int rowStep;
+    private final int colStep;
+
+    SequenceDirection(int rowStep, int colStep) {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+    }
+
+    public int rowStep() {
+        return rowStep;
+    }
+
+    public int colStep() {
+        return colStep;
+    }
+}
@@ -0,0 +1,34 @@
+package com.main.MutantDetector.engine;
+
+public interface SequenceEngine {
+    int SEQUENCE_LENGTH = 4;
+
+    // Largo mínimo de las secuencias que cuenta el motor
+    default int runLength() {
+        return SEQUENCE_LENGTH;
+    }
+
+    // Motor equivalente para otro largo de secuencia: el mismo si coincide y si no, el motor genérico
+    default SequenceEngine withRunLength(int runLength) {
+        return runLength == runLength() ? this : new RunLengthSequenceEngine(runLength);
+    }
+
+    // Cuenta las secuencias (horizontales, verticales y diagonales) cuya primera base está en la fila indicada.
+    // Cada secuencia maximal de runLength() o más bases iguales se cuenta una sola vez.
+    int countRow(PackedDna dna, int row);
+
+    // Cuenta las secuencias que empiezan en las filas [fromRow, toRow), en orden, y corta apenas se alcanzan
+    // `limit` secuencias. Los motores pueden sobrescribirlo para reutilizar trabajo entre filas consecutivas.
+    default int countRows(PackedDna dna, int fromRow, int toRow, int limit) {
+        int count = 0;
+        for (int row = fromRow; row < toRow && count < limit; row++) {
+            count += countRow(dna, row);
+        }
+        return count;
+    }
+
+    // Recorre las filas en orden y corta apenas se alcanzan `limit` secuencias (Early Termination)
+    default int countSequences(PackedDna dna, int limit) {
+        return countRows(dna, 0, dna.size(), limit);
+    }
+}
@@ -0,0 +1,10 @@
+package com.main.MutantDetector.engine;
+
+import java.io.IOException;
+
+// Recibe cada secuencia encontrada por SequenceReporter apenas se encuentra.
+// (row, col) es la primera base en la dirección de la secuencia.
+@FunctionalInterface
+public interface SequenceListener {
+    void onSequence(int row, int col, SequenceDirection direction, char base, int length) throws IOException;
+}
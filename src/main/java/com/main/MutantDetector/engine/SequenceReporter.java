@@ -0,0 +1,75 @@
+package com.main.MutantDetector.engine;
+
+import java.io.IOException;
+
+import static com.main.MutantDetector.engine.RunLengthSequenceEngine.diagonalAscStarts;
+import static com.main.MutantDetector.engine.RunLengthSequenceEngine.diagonalDescStarts;
+import static com.main.MutantDetector.engine.RunLengthSequenceEngine.horizontalStarts;
+import static com.main.MutantDetector.engine.RunLengthSequenceEngine.verticalStarts;
+
+// Reporte completo de las secuencias de un ADN en un solo recorrido: las mismas máscaras de inicio
+// que RunLengthSequenceEngine, sin corte temprano, y cada secuencia se entrega al listener apenas
+// se encuentra (fila por fila), así el reporte de una matriz enorme nunca se arma en memoria.
+// Solo se mide el largo de las secuencias encontradas, recorriendo sus bases a partir de la última
+// que ya verificó la máscara.
+public final class SequenceReporter {
+
+    private SequenceReporter() {
+    }
+
+    // Entrega cada secuencia maximal de rules.runLength() o más bases iguales y devuelve cuántas hay
+    public static int report(PackedDna dna, DetectionRules rules, SequenceListener listener) throws IOException {
+        final long[] w = dna.words();
+        final int n = dna.size();
+        final int stride = dna.stride();
+        final int runLength = rules.runLength();
+
+        int count = 0;
+        for (int row = 0; row < n; row++) {
+            final int offset = dna.rowOffset(row);
+            final boolean crossRows = row <= n - runLength;
+            for (int i = 0; i < dna.wordsPerRow(); i++) {
+                final int idx = offset + i;
+                count += emit(dna, rules, listener, row, i, SequenceDirection.HORIZONTAL,
+                        horizontalStarts(w, idx, n, i, runLength));
+                if (!crossRows) continue;
+                count += emit(dna, rules, listener, row, i, SequenceDirection.VERTICAL,
+                        verticalStarts(w, idx, stride, row, n, i, runLength));
+                count += emit(dna, rules, listener, row, i, SequenceDirection.DIAGONAL_DESCENDENTE,
+                        diagonalDescStarts(w, idx, stride, row, n, i, runLength));
+                count += emit(dna, rules, listener, row, i, SequenceDirection.DIAGONAL_ASCENDENTE,
+                        diagonalAscStarts(w, idx, stride, row, n, i, runLength));
+            }
+        }
+        return count;
+    }
+
+    private static int emit(PackedDna dna, DetectionRules rules, SequenceListener listener, int row, int word,
+                            SequenceDirection direction, long starts) throws IOException {
+        if (starts == 0) return 0;
+        final int n = dna.size();
+        // La diagonal ascendente está anclada en su extremo superior derecho: se mide hacia abajo a la izquierda
+        final boolean ascending = direction == SequenceDirection.DIAGONAL_ASCENDENTE;
+        final int rowStep = ascending ? 1 : direction.rowStep();
+        final int colStep = ascending ? -1 : direction.colStep();
+
+        int count = 0;
+        while (starts != 0) {
+            final int col = word * PackedDna.BASES_PER_WORD + (Long.numberOfTrailingZeros(starts) >>> 1);
+            starts &= starts - 1;
+            final int code = dna.code(row, col);
+            int length = rules.runLength();
+            for (int r = row + length * rowStep, c = col + length * colStep;
+                 r < n && c >= 0 && c < n && dna.code(r, c) == code; r += rowStep, c += colStep) {
+                length++;
+            }
+            if (ascending) {
+                listener.onSequence(row + length - 1, col - length + 1, direction, rules.base(code), length);
+            } else {
+                listener.onSequence(row, col, direction, rules.base(code), length);
+            }
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,46 @@
+package com.main.MutantDetector.engine;
+
+import com.main.MutantDetector.exceptions.DnaHashCalculationException;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// SHA-256 de las filas concatenadas. Los MessageDigest se reutilizan desde un pool acotado en lugar de
+// crear uno nuevo por request. No se usa ThreadLocal: con hilos virtuales cada request corre en un hilo
+// nuevo y el digest por hilo nunca se reutilizaría.
+public class Sha256DnaHasher implements DnaHasher {
+    private static final int MAX_POOLED = 64;
+
+    private final BlockingQueue<MessageDigest> digests = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    @Override
+    public MessageDigest rowDigest() {
+        MessageDigest digest = digests.poll();
+        return digest != null ? digest : newDigest();
+    }
+
+    // Devuelve el digest al pool (digest() lo deja reiniciado). Si el escaneo falla antes de llegar
+    // acá, el digest simplemente no vuelve al pool.
+    @Override
+    public DnaKey finish(MessageDigest digest, PackedDna matrix) {
+        byte[] output = new byte[DnaKey.BYTES];
+        try {
+            digest.digest(output, 0, DnaKey.BYTES);
+        } catch (DigestException e) {
+            throw new DnaHashCalculationException("Error calculando hash", e);
+        }
+        digests.offer(digest);
+        return DnaKey.of(output);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DnaHashCalculationException("Error calculando hash", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.main.MutantDetector.engine;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.main.MutantDetector.engine.PackedSequenceEngine.LOW_BITS;
+
+// Variante SIMD del motor empaquetado (Vector API): procesa varias palabras de la fila por instrucción.
+// Las comparaciones entre filas y los desplazamientos de las diagonales se hacen cargando la fila vecina
+// o la palabra contigua como otro vector, igual que en PackedSequenceEngine pero de a LANES palabras.
+public class VectorSequenceEngine implements SequenceEngine {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public int countRow(PackedDna dna, int row) {
+        final long[] w = dna.words();
+        final int n = dna.size();
+        final int stride = dna.stride();
+        final int offset = dna.rowOffset(row);
+        final boolean crossRows = row <= n - SEQUENCE_LENGTH;
+
+        // Palabras interiores: todas sus columnas son anclas válidas en las 4 direcciones, no necesitan máscaras
+        final int interiorEnd = (n - SEQUENCE_LENGTH + 1) / PackedDna.BASES_PER_WORD;
+        final boolean hasPrevious = row != 0;
+
+        LongVector counts = LongVector.zero(SPECIES);
+        int i = 1;
+        for (; i + LANES <= interiorEnd; i += LANES) {
+            final int idx = offset + i;
+            final LongVector a = LongVector.fromArray(SPECIES, w, idx);
+
+            LongVector starts = eq(a, toLower(w, idx, 1)).and(eq(a, toLower(w, idx, 2))).and(eq(a, toLower(w, idx, 3)))
+                    .and(eq(a, toHigher(w, idx, 1)).not());
+            counts = counts.add(starts.lanewise(VectorOperators.BIT_COUNT));
+
+            if (crossRows) {
+                final LongVector b = LongVector.fromArray(SPECIES, w, idx + stride);
+                final LongVector c = LongVector.fromArray(SPECIES, w, idx + 2 * stride);
+                final LongVector d = LongVector.fromArray(SPECIES, w, idx + 3 * stride);
+                LongVector vertical = eq(a, b).and(eq(a, c)).and(eq(a, d));
+                LongVector desc = eq(a, toLower(w, idx + stride, 1))
+                        .and(eq(a, toLower(w, idx + 2 * stride, 2)))
+                        .and(eq(a, toLower(w, idx + 3 * stride, 3)));
+                LongVector asc = eq(a, toHigher(w, idx + stride, 1))
+                        .and(eq(a, toHigher(w, idx + 2 * stride, 2)))
+                        .and(eq(a, toHigher(w, idx + 3 * stride, 3)));
+                if (hasPrevious) {
+                    vertical = vertical.and(eq(a, LongVector.fromArray(SPECIES, w, idx - stride)).not());
+                    desc = desc.and(eq(a, toHigher(w, idx - stride, 1)).not());
+                    asc = asc.and(eq(a, toLower(w, idx - stride, 1)).not());
+                }
+                counts = counts.add(vertical.lanewise(VectorOperators.BIT_COUNT))
+                        .add(desc.lanewise(VectorOperators.BIT_COUNT))
+                        .add(asc.lanewise(VectorOperators.BIT_COUNT));
+            }
+        }
+
+        // Bordes y resto que no llena un vector: mismo cálculo escalar con máscaras
+        int count = (int) counts.reduceLanes(VectorOperators.ADD);
+        if (dna.wordsPerRow() > 0) {
+            count += PackedSequenceEngine.countWord(w, offset, stride, row, n, 0, crossRows);
+        }
+        for (; i < dna.wordsPerRow(); i++) {
+            count += PackedSequenceEngine.countWord(w, offset + i, stride, row, n, i, crossRows);
+        }
+        return count;
+    }
+
+    private static LongVector eq(LongVector a, LongVector b) {
+        final LongVector x = a.lanewise(VectorOperators.XOR, b);
+        return x.or(x.lanewise(VectorOperators.LSHR, 1)).not().and(LOW_BITS);
+    }
+
+    private static LongVector toLower(long[] w, int idx, int k) {
+        return LongVector.fromArray(SPECIES, w, idx).lanewise(VectorOperators.LSHR, k << 1)
+                .or(LongVector.fromArray(SPECIES, w, idx + 1).lanewise(VectorOperators.LSHL, 64 - (k << 1)));
+    }
+
+    private static LongVector toHigher(long[] w, int idx, int k) {
+        return LongVector.fromArray(SPECIES, w, idx).lanewise(VectorOperators.LSHL, k << 1)
+                .or(LongVector.fromArray(SPECIES, w, idx - 1).lanewise(VectorOperators.LSHR, 64 - (k << 1)));
+    }
+}
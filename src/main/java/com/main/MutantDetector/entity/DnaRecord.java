@@ -17,8 +17,8 @@ public class DnaRecord {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "dna_hash", unique = true, nullable = false)
-    private String dnaHash;
+    @Column(name = "dna_hash", unique = true, nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] dnaHash;
 
     @Column(name = "is_mutant", nullable = false)
     private Boolean esMutante;
@@ -0,0 +1,99 @@
+package com.main.MutantDetector.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Métricas del camino de POST /mutant, expuestas por Actuator en /actuator/prometheus.
+// Los medidores se registran una sola vez al arrancar; en cada request solo se registra el tiempo
+// (System.nanoTime + Timer.record), sin búsquedas en el registry ni lambdas por llamada.
+@Component
+public class MutantMetrics {
+    public static final String DETECCION = "mutant.deteccion";
+    public static final String ETAPA = "mutant.etapa";
+    public static final String VEREDICTOS = "mutant.veredictos";
+
+    // Límites superiores (inclusive) de los rangos de N usados como tag de la detección
+    private static final int[] LIMITES_TAMANIO = {10, 100, 1000};
+
+    // Etapas de un request, en orden
+    public enum Etapa {
+        // Lectura del JSON en streaming: validación, empaquetado y hash en la misma pasada
+        LECTURA("lectura"),
+        // Validación, empaquetado y hash desde un String[] (DnaScanner.scan)
+        ESCANEO("escaneo"),
+        CACHE("cache"),
+        REPOSITORIO_BUSCAR("repositorio.buscar"),
+        // Encolado en el write-behind (o insert directo si la cola está llena)
+        REPOSITORIO_GUARDAR("repositorio.guardar"),
+        // Insert JDBC de un lote, en el hilo de fondo o en /mutant/batch
+        PERSISTENCIA_LOTE("persistencia.lote");
+
+        private final String tag;
+
+        Etapa(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // Desde dónde se resolvió el veredicto (COMPARTIDO: esperando la detección en curso del mismo ADN;
+    // DISTRIBUIDA: nivel de caché compartido entre réplicas)
+    public enum Origen {
+        CACHE, REPOSITORIO, DETECCION, COMPARTIDO, DISTRIBUIDA
+    }
+
+    private final Timer[] deteccion;
+    private final Timer[] etapas;
+    private final Counter[] veredictos;
+
+    public MutantMetrics(MeterRegistry meterRegistry) {
+        deteccion = new Timer[LIMITES_TAMANIO.length + 1];
+        for (int i = 0; i < deteccion.length; i++) {
+            String tamanio = i < LIMITES_TAMANIO.length ? "<=" + LIMITES_TAMANIO[i] : ">" + LIMITES_TAMANIO[i - 1];
+            deteccion[i] = Timer.builder(DETECCION)
+                    .description("Tiempo del motor de detección por rango de N")
+                    .tag("tamanio", tamanio)
+                    .register(meterRegistry);
+        }
+
+        etapas = new Timer[Etapa.values().length];
+        for (Etapa etapa : Etapa.values()) {
+            etapas[etapa.ordinal()] = Timer.builder(ETAPA)
+                    .description("Tiempo de cada etapa de un análisis de ADN")
+                    .tag("etapa", etapa.tag)
+                    .register(meterRegistry);
+        }
+
+        veredictos = new Counter[Origen.values().length * 2];
+        for (Origen origen : Origen.values()) {
+            for (boolean esMutante : new boolean[]{false, true}) {
+                veredictos[indice(origen, esMutante)] = Counter.builder(VEREDICTOS)
+                        .description("Veredictos entregados por resultado y origen")
+                        .tag("resultado", esMutante ? "mutante" : "humano")
+                        .tag("origen", origen.name().toLowerCase())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public void deteccion(int tamanio, long desdeNanos) {
+        int rango = 0;
+        while (rango < LIMITES_TAMANIO.length && tamanio > LIMITES_TAMANIO[rango]) rango++;
+        deteccion[rango].record(System.nanoTime() - desdeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void etapa(Etapa etapa, long desdeNanos) {
+        etapas[etapa.ordinal()].record(System.nanoTime() - desdeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void veredicto(Origen origen, boolean esMutante) {
+        veredictos[indice(origen, esMutante)].increment();
+    }
+
+    private static int indice(Origen origen, boolean esMutante) {
+        return origen.ordinal() * 2 + (esMutante ? 1 : 0);
+    }
+}
@@ -0,0 +1,31 @@
+package com.main.MutantDetector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+// Recorre todos los dna_hash guardados sin cargar las entidades: una consulta por partición leída en
+// streaming (fetch size acotado), para reconstruir estructuras en memoria al iniciar.
+@Repository
+@RequiredArgsConstructor
+public class DnaHashReader {
+    private static final String SELECT_SQL = "SELECT dna_hash FROM %s";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaRecordShards shards;
+
+    public void forEachHash(Consumer<byte[]> consumer) {
+        for (String table : shards.tables()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_SQL.formatted(table));
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (ResultSet rs) -> consumer.accept(rs.getBytes(1)));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.main.MutantDetector.repository;
+
+import com.main.MutantDetector.entity.DnaRecord;
+import com.main.MutantDetector.metrics.MutantMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+// Inserción de DnaRecords en lotes JDBC. Con ids IDENTITY Hibernate no agrupa los INSERT,
+// por eso los lotes se envían directamente con JdbcTemplate.batchUpdate (un lote por partición).
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class DnaRecordBatchWriter {
+    private static final String INSERT_SQL = "INSERT INTO %s (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MutantMetrics mutantMetrics;
+    private final DnaRecordShards shards;
+    private final TransactionTemplate transactionTemplate;
+
+    // Resultado de insertAll: los registros que ya estaban guardados (se omiten, el guardado gana) y los que
+    // no se pudieron guardar por otro error de la base (no quedaron guardados; quien llama decide si reintentar)
+    public record Resultado(List<DnaRecord> duplicados, List<DnaRecord> fallidos) {
+    }
+
+    public Resultado insertAll(List<DnaRecord> records) {
+        Resultado resultado = new Resultado(new ArrayList<>(), new ArrayList<>());
+        if (records.isEmpty()) return resultado;
+        final long inicio = System.nanoTime();
+        try {
+            List<List<DnaRecord>> grupos = shards.groupByShard(records, DnaRecord::getDnaHash);
+            for (int shard = 0; shard < grupos.size(); shard++) {
+                if (!grupos.get(shard).isEmpty()) insertShard(shard, grupos.get(shard), resultado);
+            }
+            return resultado;
+        } finally {
+            mutantMetrics.etapa(MutantMetrics.Etapa.PERSISTENCIA_LOTE, inicio);
+        }
+    }
+
+    // El lote va en una transacción: si falla no queda guardado a medias (si no, al reintentarlo de a uno
+    // lo ya insertado se tomaría por duplicado)
+    private void insertShard(int shard, List<DnaRecord> records, Resultado resultado) {
+        final String sql = INSERT_SQL.formatted(shards.table(shard));
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(sql, records, records.size(), this::bind));
+        } catch (DataIntegrityViolationException e) {
+            // Algún hash ya estaba guardado: se reintenta de a uno para conservar el resto del lote
+            records.forEach(record -> insertOne(sql, record, resultado));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Falló el lote de {} DnaRecords en {}, se reintenta de a uno: {}",
+                    records.size(), shards.table(shard), e.getMessage());
+            records.forEach(record -> insertOne(sql, record, resultado));
+        }
+    }
+
+    private void insertOne(String sql, DnaRecord record, Resultado resultado) {
+        try {
+            jdbcTemplate.update(sql, ps -> bind(ps, record));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("DnaRecord {} ya existente, se omite", HexFormat.of().formatHex(record.getDnaHash()));
+            resultado.duplicados().add(record);
+        } catch (DataAccessException e) {
+            log.debug("No se pudo guardar el DnaRecord {}", HexFormat.of().formatHex(record.getDnaHash()), e);
+            resultado.fallidos().add(record);
+        }
+    }
+
+    private void bind(PreparedStatement ps, DnaRecord record) throws SQLException {
+        ps.setBytes(1, record.getDnaHash());
+        ps.setBoolean(2, record.getEsMutante());
+        ps.setTimestamp(3, Timestamp.valueOf(record.getFechaCreacion()));
+    }
+}
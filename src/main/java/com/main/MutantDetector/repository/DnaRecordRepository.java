@@ -4,10 +4,8 @@ import com.main.MutantDetector.entity.DnaRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
+// findByDnaHash, findByDnaHashIn, countByEsMutante y count recorren las particiones (DnaRecordRepositoryCustom);
+// el resto de los métodos de JpaRepository solo ven la tabla de la entidad (partición 0)
 @Repository
-public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
-    long countByEsMutante(boolean isMutant);
+public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long>, DnaRecordRepositoryCustom {
 }
@@ -0,0 +1,16 @@
+package com.main.MutantDetector.repository;
+
+import com.main.MutantDetector.entity.DnaRecord;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Consultas de DnaRecordRepository que recorren las particiones (DnaRecordShards): las búsquedas por hash van
+// a la partición de su prefijo y los conteos suman todas. Tienen prioridad sobre las derivadas por Spring Data.
+public interface DnaRecordRepositoryCustom {
+    Optional<DnaRecord> findByDnaHash(byte[] dnaHash);
+    List<DnaRecord> findByDnaHashIn(Collection<byte[]> dnaHashes);
+    long countByEsMutante(boolean isMutant);
+    long count();
+}
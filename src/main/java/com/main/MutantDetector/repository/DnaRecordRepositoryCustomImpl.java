@@ -0,0 +1,68 @@
+package com.main.MutantDetector.repository;
+
+import com.main.MutantDetector.entity.DnaRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+// Implementación con JdbcTemplate (como DnaRecordBatchWriter): una consulta por partición involucrada
+@RequiredArgsConstructor
+public class DnaRecordRepositoryCustomImpl implements DnaRecordRepositoryCustom {
+    private static final String COLUMNS = "id, dna_hash, is_mutant, created_at";
+
+    private static final RowMapper<DnaRecord> ROW_MAPPER = (rs, rowNum) -> {
+        DnaRecord dnaRecord = new DnaRecord();
+        dnaRecord.setId(rs.getLong(1));
+        dnaRecord.setDnaHash(rs.getBytes(2));
+        dnaRecord.setEsMutante(rs.getBoolean(3));
+        dnaRecord.setFechaCreacion(rs.getTimestamp(4).toLocalDateTime());
+        return dnaRecord;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaRecordShards shards;
+
+    @Override
+    public Optional<DnaRecord> findByDnaHash(byte[] dnaHash) {
+        String sql = "SELECT " + COLUMNS + " FROM " + shards.table(shards.shardOf(dnaHash)) + " WHERE dna_hash = ?";
+        return jdbcTemplate.query(sql, ROW_MAPPER, (Object) dnaHash).stream().findFirst();
+    }
+
+    @Override
+    public List<DnaRecord> findByDnaHashIn(Collection<byte[]> dnaHashes) {
+        List<DnaRecord> encontrados = new ArrayList<>();
+        List<List<byte[]>> grupos = shards.groupByShard(dnaHashes, hash -> hash);
+        for (int shard = 0; shard < grupos.size(); shard++) {
+            List<byte[]> grupo = grupos.get(shard);
+            if (grupo.isEmpty()) continue;
+            String sql = "SELECT " + COLUMNS + " FROM " + shards.table(shard)
+                    + " WHERE dna_hash IN (" + String.join(",", Collections.nCopies(grupo.size(), "?")) + ")";
+            encontrados.addAll(jdbcTemplate.query(sql, ROW_MAPPER, grupo.toArray()));
+        }
+        return encontrados;
+    }
+
+    @Override
+    public long countByEsMutante(boolean isMutant) {
+        long total = 0;
+        for (String table : shards.tables()) {
+            total += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE is_mutant = ?", Long.class, isMutant);
+        }
+        return total;
+    }
+
+    @Override
+    public long count() {
+        long total = 0;
+        for (String table : shards.tables()) {
+            total += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        }
+        return total;
+    }
+}
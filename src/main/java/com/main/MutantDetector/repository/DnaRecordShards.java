@@ -0,0 +1,87 @@
+package com.main.MutantDetector.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+// Particiones de los DnaRecords por prefijo del dna_hash: la partición 0 es la tabla de la entidad
+// (dna_records, la crea Hibernate) y las demás, dna_records_1 .. dna_records_{N-1}, con el mismo esquema.
+// Cada tabla tiene su propio índice único, así los inserts y búsquedas de claves distintas no compiten
+// por el mismo índice. Con mutant.persistence.shards=1 (por defecto) todo queda en dna_records.
+// La cantidad de particiones es fija para una base: cambiarla deja registros en una partición que ya no
+// es la de su prefijo.
+@Slf4j
+@Component
+public class DnaRecordShards {
+    public static final String BASE_TABLE = "dna_records";
+    public static final int MAX_SHARDS = 256;
+
+    private static final String CREATE_SQL = """
+            CREATE TABLE IF NOT EXISTS %1$s (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                dna_hash BINARY(32) NOT NULL,
+                is_mutant BOOLEAN NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                CONSTRAINT uk_%1$s_dna_hash UNIQUE (dna_hash)
+            )""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> tables;
+
+    public DnaRecordShards(JdbcTemplate jdbcTemplate, @Value("${mutant.persistence.shards:1}") int shards) {
+        if (shards < 1 || shards > MAX_SHARDS)
+            throw new IllegalArgumentException("mutant.persistence.shards debe estar entre 1 y " + MAX_SHARDS);
+        this.jdbcTemplate = jdbcTemplate;
+        List<String> nombres = new ArrayList<>(shards);
+        nombres.add(BASE_TABLE);
+        for (int i = 1; i < shards; i++) {
+            nombres.add(BASE_TABLE + "_" + i);
+        }
+        this.tables = List.copyOf(nombres);
+    }
+
+    @PostConstruct
+    void crearTablas() {
+        for (String table : tables.subList(1, tables.size())) {
+            jdbcTemplate.execute(CREATE_SQL.formatted(table));
+        }
+        if (tables.size() > 1) log.info("DnaRecords particionados en {} tablas por prefijo de dna_hash", tables.size());
+    }
+
+    public int count() {
+        return tables.size();
+    }
+
+    public List<String> tables() {
+        return tables;
+    }
+
+    public String table(int shard) {
+        return tables.get(shard);
+    }
+
+    // Partición por rango de los primeros 16 bits del hash (uniformes en SHA-256 y en la huella)
+    public int shardOf(byte[] dnaHash) {
+        final int prefijo = ((dnaHash[0] & 0xff) << 8) | (dnaHash[1] & 0xff);
+        return (prefijo * tables.size()) >>> 16;
+    }
+
+    // Agrupa los elementos por partición (índice de la lista = partición; las vacías quedan como listas vacías)
+    public <T> List<List<T>> groupByShard(Collection<T> elementos, Function<T, byte[]> dnaHash) {
+        List<List<T>> grupos = new ArrayList<>(tables.size());
+        for (int i = 0; i < tables.size(); i++) {
+            grupos.add(new ArrayList<>());
+        }
+        for (T elemento : elementos) {
+            grupos.get(shardOf(dnaHash.apply(elemento))).add(elemento);
+        }
+        return grupos;
+    }
+}
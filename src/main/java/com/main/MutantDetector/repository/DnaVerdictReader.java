@@ -0,0 +1,59 @@
+package com.main.MutantDetector.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Recorre veredictos guardados en streaming como DnaHashReader, sin cargar las entidades: por fecha de
+// creación (estadísticas por ventana) o los más recientes (precarga de la caché al iniciar).
+@Repository
+@RequiredArgsConstructor
+public class DnaVerdictReader {
+    private static final String SELECT_SQL = "SELECT created_at, is_mutant FROM %s WHERE created_at >= ?";
+    // Por id descendente (índice de la clave primaria, mismo orden que la inserción) y no por created_at, que no
+    // tiene índice y obligaría a ordenar la tabla entera
+    private static final String SELECT_RECENT_SQL = "SELECT dna_hash, is_mutant FROM %s ORDER BY id DESC LIMIT ?";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaRecordShards shards;
+
+    @FunctionalInterface
+    public interface VerdictConsumer {
+        void accept(LocalDateTime fechaCreacion, boolean esMutante);
+    }
+
+    @FunctionalInterface
+    public interface HashVerdictConsumer {
+        void accept(byte[] dnaHash, boolean esMutante);
+    }
+
+    // Las claves se reparten parejo entre particiones: se leen los `limite / N` más recientes de cada una
+    public void forEachRecentVerdict(int limite, HashVerdictConsumer consumer) {
+        final int porShard = (limite + shards.count() - 1) / shards.count();
+        for (String table : shards.tables()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_RECENT_SQL.formatted(table));
+                statement.setInt(1, porShard);
+                statement.setFetchSize(Math.min(porShard, FETCH_SIZE));
+                return statement;
+            }, (ResultSet rs) -> consumer.accept(rs.getBytes(1), rs.getBoolean(2)));
+        }
+    }
+
+    public void forEachVerdictSince(LocalDateTime desde, VerdictConsumer consumer) {
+        for (String table : shards.tables()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_SQL.formatted(table));
+                statement.setTimestamp(1, Timestamp.valueOf(desde));
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (ResultSet rs) -> consumer.accept(rs.getTimestamp(1).toLocalDateTime(), rs.getBoolean(2)));
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.cache.DistributedVerdictCache;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.entity.DnaRecord;
+import com.main.MutantDetector.repository.DnaRecordBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Persistencia asíncrona (write-behind) de los DnaRecords nuevos: el request solo encola el registro
+// y un hilo de fondo lo inserta en lotes JDBC. La cola es acotada; si sigue llena después de
+// offer-timeout, el propio request inserta su registro (backpressure explícito, sin perder datos).
+// Un registro que la base rechaza por otro motivo que un duplicado se reintenta hasta max-retries veces (en la
+// cola, o en el hilo que lo escribió si la cola está llena o el escritor detenido);
+// si sigue fallando se descarta y se deshace lo que el request ya había publicado (estadísticas y caché),
+// así /stats y la caché siguen coincidiendo con dna_records.
+// Al apagar la aplicación se vacía la cola antes de cerrar el DataSource.
+@Slf4j
+@Service
+public class DnaRecordWriteBehind implements SmartLifecycle {
+    private final DnaRecordBatchWriter batchWriter;
+    private final StatsService statsService;
+    private final DistributedVerdictCache distributedVerdictCache;
+    private final BlockingQueue<Pendiente> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryDelayMillis;
+    // Registros encolados que todavía no terminaron de escribirse (incluye los que esperan reintento)
+    private final AtomicLong pendientes = new AtomicLong();
+    private final Counter descartados;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public DnaRecordWriteBehind(DnaRecordBatchWriter batchWriter,
+                                StatsService statsService,
+                                DistributedVerdictCache distributedVerdictCache,
+                                @Value("${mutant.persistence.queue-capacity:10000}") int queueCapacity,
+                                @Value("${mutant.persistence.batch-size:500}") int batchSize,
+                                @Value("${mutant.persistence.offer-timeout-ms:50}") long offerTimeoutMillis,
+                                @Value("${mutant.persistence.max-retries:3}") int maxRetries,
+                                @Value("${mutant.persistence.retry-delay-ms:200}") long retryDelayMillis,
+                                MeterRegistry meterRegistry) {
+        this.batchWriter = batchWriter;
+        this.statsService = statsService;
+        this.distributedVerdictCache = distributedVerdictCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        Gauge.builder("mutant.persistencia.pendientes", pendientes, AtomicLong::get)
+                .description("DnaRecords encolados que todavía no se escribieron en la base")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("mutant.persistencia.descartados")
+                .description("DnaRecords que no se pudieron guardar después de agotar los reintentos")
+                .register(meterRegistry);
+    }
+
+    // Registro en la cola con la cantidad de intentos fallidos
+    private record Pendiente(DnaRecord dnaRecord, int fallos) {
+    }
+
+    public void guardar(DnaRecord dnaRecord) {
+        pendientes.incrementAndGet();
+        Pendiente pendiente = new Pendiente(dnaRecord, 0);
+        boolean encolado = false;
+        try {
+            encolado = running && queue.offer(pendiente, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!encolado) {
+            // Cola llena (o escritor detenido): se escribe (y reintenta) en el hilo del request
+            escribirAhora(List.of(pendiente));
+        }
+    }
+
+    // Registros que otro camino (el lote de MutantService) no pudo guardar: se reintentan como los encolados
+    public void reintentar(List<DnaRecord> fallidos) {
+        pendientes.addAndGet(fallidos.size());
+        reencolar(fallidos.stream().map(dnaRecord -> new Pendiente(dnaRecord, 1)).toList());
+    }
+
+    // Escribe todo lo encolado y espera a que terminen los lotes en curso. Sigue vaciando la cola mientras
+    // espera: un guardar() que vio running antes de stop() puede encolar después de que el escritor terminó
+    // (pendientes ya lo cuenta, así que flush no sale hasta escribirlo)
+    public void flush() {
+        List<Pendiente> lote = new ArrayList<>();
+        while (pendientes.get() > 0) {
+            if (queue.drainTo(lote, batchSize) > 0) {
+                escribirAhora(lote);
+                lote = new ArrayList<>();
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private void escribirEnFondo() {
+        List<Pendiente> lote = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pendiente primero = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (primero == null) continue;
+                lote.add(primero);
+                queue.drainTo(lote, batchSize - 1);
+                List<Pendiente> fallidos = insertar(lote);
+                if (!fallidos.isEmpty()) {
+                    reencolar(fallidos);
+                    // Si la base está fallando no se reintenta enseguida
+                    esperarReintento();
+                }
+                lote = new ArrayList<>(batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Escribe el lote en el hilo que llama (request con la cola llena, escritor detenido o flush) y reintenta
+    // ahí mismo hasta max-retries: la cola no sirve para reintentar justo cuando está llena o nadie la vacía
+    private void escribirAhora(List<Pendiente> lote) {
+        List<Pendiente> fallidos = insertar(lote);
+        while (!fallidos.isEmpty()) {
+            List<Pendiente> restantes = new ArrayList<>(fallidos.size());
+            for (Pendiente pendiente : fallidos) {
+                if (pendiente.fallos() > maxRetries) descartar(pendiente);
+                else restantes.add(pendiente);
+            }
+            if (restantes.isEmpty()) return;
+            esperarReintento();
+            fallidos = insertar(restantes);
+        }
+    }
+
+    // Inserta el lote y retorna los registros que no se pudieron guardar, con un fallo más
+    private List<Pendiente> insertar(List<Pendiente> lote) {
+        List<Pendiente> fallidos;
+        try {
+            DnaRecordBatchWriter.Resultado resultado =
+                    batchWriter.insertAll(lote.stream().map(Pendiente::dnaRecord).toList());
+            // Los duplicados ya estaban contados por quien los guardó primero
+            resultado.duplicados().forEach(statsService::descontar);
+            fallidos = pendientesDe(lote, resultado.fallidos());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo guardar un lote de {} DnaRecords", lote.size(), e);
+            fallidos = lote;
+        }
+        pendientes.addAndGet(-(lote.size() - fallidos.size()));
+        return fallidos.stream()
+                .map(pendiente -> new Pendiente(pendiente.dnaRecord(), pendiente.fallos() + 1))
+                .toList();
+    }
+
+    private static List<Pendiente> pendientesDe(List<Pendiente> lote, List<DnaRecord> dnaRecords) {
+        if (dnaRecords.isEmpty()) return List.of();
+        Map<DnaRecord, Pendiente> porRegistro = new IdentityHashMap<>();
+        lote.forEach(pendiente -> porRegistro.put(pendiente.dnaRecord(), pendiente));
+        return dnaRecords.stream().map(porRegistro::get).toList();
+    }
+
+    // Vuelve a la cola (sin esperar) lo que tiene reintentos; lo que no entra, o si el escritor está detenido,
+    // se reintenta en el hilo actual. Agotados los reintentos se descarta
+    private void reencolar(List<Pendiente> fallidos) {
+        List<Pendiente> sinLugar = new ArrayList<>();
+        for (Pendiente pendiente : fallidos) {
+            if (pendiente.fallos() > maxRetries) descartar(pendiente);
+            else if (!running || !queue.offer(pendiente)) sinLugar.add(pendiente);
+        }
+        if (!sinLugar.isEmpty()) {
+            esperarReintento();
+            escribirAhora(sinLugar);
+        }
+    }
+
+    // El registro no quedó guardado: se deshace lo publicado al detectarlo. La clave queda en el filtro de
+    // Bloom (no admite quitar claves), que solo cuesta una consulta a la base de más, como un falso positivo
+    private void descartar(Pendiente pendiente) {
+        DnaRecord dnaRecord = pendiente.dnaRecord();
+        log.error("Se descarta el DnaRecord {} después de {} intentos fallidos",
+                HexFormat.of().formatHex(dnaRecord.getDnaHash()), pendiente.fallos());
+        statsService.descontar(dnaRecord);
+        distributedVerdictCache.invalidate(DnaKey.of(dnaRecord.getDnaHash()));
+        descartados.increment();
+        pendientes.decrementAndGet();
+    }
+
+    private void esperarReintento() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryDelayMillis));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("dna-write-behind").daemon(true).start(this::escribirEnFondo);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Se detiene después del servidor web (fases más altas se detienen primero)
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -1,140 +1,69 @@
 package com.main.MutantDetector.service;
 
+import com.main.MutantDetector.engine.DetectionRules;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.engine.PackedDna;
+import com.main.MutantDetector.engine.PackedDnaPool;
+import com.main.MutantDetector.engine.SequenceEngine;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.metrics.MutantMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class MutantDetector {
-    private static final int SEQUENCE_LENGTH = 4;
-    private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
+    private static final int SEQUENCE_LENGTH = SequenceEngine.SEQUENCE_LENGTH;
 
-    public boolean isMutant(String[] dna) throws InvalidDnaException {
-        if (!isValidDna(dna)) return false;
-
-        final int n = dna.length;
-        int sequenceCount = 0;  // Contador de secuencias de 4 caracteres iguales encontradas
-
-        // Conversión a char[][] (Optimización #1)
-        char[][] matrix = new char[n][];
-        for (int i = 0; i < n; i++) {
-            matrix[i] = dna[i].toCharArray();
-        }
-
-        // Single Pass: recorrer UNA SOLA VEZ (Optimización #2)
-        for (int row = 0; row < n; row++) {
-            for (int col = 0; col < n; col++) {
-
-                // Verificación horizontal: solo si hay espacio suficiente hacia la derecha
-                if (col <= n - SEQUENCE_LENGTH) {
-                    if (checkHorizontal(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) return true;  // Early Termination!
-                    }
-                }
+    private final SequenceEngine sequenceEngine;
+    private final DnaScanner dnaScanner;
+    private final PackedDnaPool packedDnaPool;
+    private final MutantMetrics mutantMetrics;
 
-                // Verificación vertical: solo si hay espacio suficiente hacia abajo
-                if (row <= n - SEQUENCE_LENGTH) {
-                    if (checkVertical(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) return true;  // Early Termination!
-                    }
-                }
+    // Motores para largos de secuencia distintos de 4 (a lo sumo uno por largo), creados al primer uso
+    private final Map<Integer, SequenceEngine> runLengthEngines = new ConcurrentHashMap<>();
 
-                // Verificación diagonal ascendente (de abajo-izquierda a arriba-derecha)
-                if (row > n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
-                    if (checkDiagonalAsc(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) return true;  // Early Termination!
-                    }
-                }
-
-                // Verificación diagonal descendente (de arriba-izquierda a abajo-derecha)
-                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
-                    if (checkDiagonalDec(matrix, row, col)) {
-                        sequenceCount++;
-                        if (sequenceCount > 1) return true;  // Early Termination!
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean checkHorizontal(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        // Evita contar secuencias superpuestas: si el carácter anterior es igual, ya fue contada
-        if (col != 0 && matrix[row][col - 1] == base){
-            return false;
+    public boolean isMutant(String[] dna) throws InvalidDnaException {
+        // Validación y empaquetado a 2 bits por base en una sola pasada (Optimización #1),
+        // sobre una matriz reutilizada del pool
+        PackedDna matrix = dnaScanner.pack(dna, packedDnaPool);
+        try {
+            return isMutant(matrix);
+        } finally {
+            packedDnaPool.release(matrix);
         }
-
-        // Verifica que los siguientes 3 caracteres sean iguales al actual
-        return matrix[row][col + 1] == base &&
-               matrix[row][col + 2] == base &&
-               matrix[row][col + 3] == base;
     }
-    private boolean checkVertical(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        // Evita contar secuencias superpuestas: si el carácter superior es igual, ya fue contada
-        if (row != 0 && matrix[row - 1][col] == base){
-            return false;
-        }
 
-        // Verifica que los siguientes 3 caracteres hacia abajo sean iguales al actual
-        return matrix[row + 1][col] == base &&
-               matrix[row + 2][col] == base &&
-               matrix[row + 3][col] == base;
+    // Detección sobre un ADN ya validado y empaquetado, con las reglas estándar
+    public boolean isMutant(PackedDna matrix) {
+        return isMutant(matrix, DetectionRules.STANDARD);
     }
 
-    private boolean checkDiagonalAsc(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        // Evita contar secuencias superpuestas: si el carácter diagonal anterior es igual, ya fue contada
-        if (row != 0 && col != 0 && matrix[row - 1][col - 1] == base){
-            return false;
-        }
-
-        // Verifica que los siguientes 3 caracteres en diagonal ascendente sean iguales
-        return matrix[row - 1][col + 1] == base &&
-               matrix[row - 2][col + 2] == base &&
-               matrix[row - 3][col + 3] == base;
+    // Detección con las reglas de un perfil: es mutante si tiene al menos `threshold` secuencias de
+    // `runLength` o más bases iguales
+    public boolean isMutant(PackedDna matrix, DetectionRules rules) {
+        if (matrix.size() < rules.runLength()) return false;
+
+        // Comparación por palabras en las 4 direcciones, cortando al alcanzar el umbral (Optimización #2)
+        final long inicio = System.nanoTime();
+        final int threshold = rules.threshold();
+        boolean esMutante = engineFor(rules).countSequences(matrix, threshold) >= threshold;
+        mutantMetrics.deteccion(matrix.size(), inicio);
+        return esMutante;
     }
 
-    private boolean checkDiagonalDec(char[][] matrix, int row, int col) {
-        final char base = matrix[row][col];
-        // Evita contar secuencias superpuestas: si el carácter diagonal anterior es igual, ya fue contada
-        if (row != (matrix.length - 1) && col != 0 && matrix[row + 1][col - 1] == base){
-            return false;
-        }
-
-        // Verifica que los siguientes 3 caracteres en diagonal descendente sean iguales
-        return matrix[row + 1][col + 1] == base &&
-               matrix[row + 2][col + 2] == base &&
-               matrix[row + 3][col + 3] == base;
+    // Las secuencias de 4 usan el motor configurado (especializado); otros largos, el motor genérico
+    private SequenceEngine engineFor(DetectionRules rules) {
+        final int runLength = rules.runLength();
+        if (runLength == sequenceEngine.runLength()) return sequenceEngine;
+        return runLengthEngines.computeIfAbsent(runLength, sequenceEngine::withRunLength);
     }
 
     public boolean isValidDna(String[] dna) throws InvalidDnaException {
-        try {
-            String letrasString = String.join("", dna);
-            if (letrasString.isBlank())
-                throw new InvalidDnaException("El DNA no puede estar vacío");
-            if (letrasString.length()/dna.length != dna.length)
-                throw new InvalidDnaException("El DNA debe ser una matriz cuadrada.");
-
-            Set<Character> letras = letrasString.chars()
-                    .mapToObj(letra -> (char)letra)
-                    .collect(Collectors.toSet());
-            for (Character letra : letras){
-                if (!VALID_BASES.contains(letra))
-                    throw new InvalidDnaException("Las únicas letras permitidas son A, T, C y G.");
-            }
-
-            return dna.length >= SEQUENCE_LENGTH;
-        } catch (Exception e) {
-            throw new InvalidDnaException(e.getMessage());
-        }
+        dnaScanner.validate(dna);
+        return dna.length >= SEQUENCE_LENGTH;
     }
-}
\ No newline at end of file
+}
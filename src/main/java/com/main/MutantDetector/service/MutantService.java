@@ -1,65 +1,238 @@
 package com.main.MutantDetector.service;
 
+import com.main.MutantDetector.cache.DistributedVerdictCache;
+import com.main.MutantDetector.cache.DnaKeyFilter;
+import com.main.MutantDetector.cache.VerdictCache;
 import com.main.MutantDetector.dto.DnaRequestDTO;
 import com.main.MutantDetector.dto.DnaResponseDTO;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.DnaScanner;
 import com.main.MutantDetector.entity.DnaRecord;
-import com.main.MutantDetector.exceptions.DnaHashCalculationException;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.metrics.MutantMetrics;
+import com.main.MutantDetector.metrics.MutantMetrics.Etapa;
+import com.main.MutantDetector.metrics.MutantMetrics.Origen;
+import com.main.MutantDetector.repository.DnaRecordBatchWriter;
 import com.main.MutantDetector.repository.DnaRecordRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class MutantService {
     private final DnaRecordRepository dnaRepository;
     private final MutantDetector mutantDetector;
+    private final DnaScanner dnaScanner;
+    private final VerdictCache verdictCache;
+    private final DnaKeyFilter dnaKeyFilter;
+    private final DnaRecordWriteBehind dnaRecordWriteBehind;
+    private final DnaRecordBatchWriter dnaRecordBatchWriter;
+    private final StatsService statsService;
+    private final MutantMetrics mutantMetrics;
+    private final DistributedVerdictCache distributedVerdictCache;
+
+    // Resoluciones en curso por clave (single-flight de comprobarSinCache)
+    private final ConcurrentHashMap<DnaKey, CompletableFuture<Boolean>> enVuelo = new ConcurrentHashMap<>();
 
     public DnaResponseDTO comprobarMutante(DnaRequestDTO dnaRequest) throws InvalidDnaException {
-        // Calcula el hash del ADN para identificarlo de forma única
-        String dnaHash = calcularDnaHash(dnaRequest.dna());
+        // Valida, empaqueta y calcula el hash del ADN en una sola pasada
+        final long inicio = System.nanoTime();
+        DnaSample muestra = dnaScanner.scan(dnaRequest.dna());
+        mutantMetrics.etapa(Etapa.ESCANEO, inicio);
+        return comprobarMutante(muestra);
+    }
 
-        // Verifica si el ADN ya fue analizado previamente (cacheo)
-        Optional<DnaRecord> dnaRecordGuardado = dnaRepository.findByDnaHash(dnaHash);
-        if (dnaRecordGuardado.isPresent()) {
-            return new DnaResponseDTO(dnaRecordGuardado.get().getEsMutante());
+    // Analiza un ADN ya validado y empaquetado (por ejemplo, leído en streaming por DnaJsonReader)
+    public DnaResponseDTO comprobarMutante(DnaSample muestra) {
+        // Primero consulta la caché en memoria, sin ir a la base de datos
+        DnaResponseDTO cacheado = comprobarEnCache(muestra);
+        return cacheado != null ? cacheado : comprobarSinCache(muestra);
+    }
+
+    // Veredicto desde la caché en memoria, o null si no está. No bloquea.
+    public DnaResponseDTO comprobarEnCache(DnaSample muestra) {
+        final long inicio = System.nanoTime();
+        Boolean veredictoCacheado = verdictCache.get(muestra.key());
+        mutantMetrics.etapa(Etapa.CACHE, inicio);
+        if (veredictoCacheado == null) return null;
+        mutantMetrics.veredicto(Origen.CACHE, veredictoCacheado);
+        return new DnaResponseDTO(veredictoCacheado);
+    }
+
+    // Resuelve un ADN que no está en la caché: consulta la base y, si es nuevo, lo analiza y lo guarda.
+    // Puede bloquear en la consulta a la base o esperando a otro request con el mismo ADN.
+    // Single-flight: los requests concurrentes con la misma clave comparten una sola resolución
+    // (una consulta, una detección y un insert); el primero la ejecuta y los demás esperan su veredicto.
+    public DnaResponseDTO comprobarSinCache(DnaSample muestra) {
+        DnaKey dnaKey = muestra.key();
+        CompletableFuture<Boolean> propio = new CompletableFuture<>();
+        CompletableFuture<Boolean> enCurso = enVuelo.putIfAbsent(dnaKey, propio);
+        if (enCurso != null) {
+            boolean esMutante = esperar(enCurso);
+            mutantMetrics.veredicto(Origen.COMPARTIDO, esMutante);
+            return new DnaResponseDTO(esMutante);
+        }
+        try {
+            // Una resolución anterior pudo terminar entre el fallo de caché y el registro en vuelo:
+            // el veredicto ya está en la caché (se guarda antes de salir de enVuelo)
+            Boolean cacheado = verdictCache.get(dnaKey);
+            boolean esMutante = cacheado != null ? cacheado : resolver(muestra);
+            if (cacheado != null) mutantMetrics.veredicto(Origen.CACHE, cacheado);
+            propio.complete(esMutante);
+            return new DnaResponseDTO(esMutante);
+        } catch (RuntimeException | Error e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enVuelo.remove(dnaKey, propio);
+        }
+    }
+
+    private static boolean esperar(CompletableFuture<Boolean> enCurso) {
+        try {
+            return enCurso.join();
+        } catch (CompletionException e) {
+            // Mismo error que recibió el request que hizo la resolución
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw e;
+        }
+    }
+
+    private boolean resolver(DnaSample muestra) {
+        DnaKey dnaKey = muestra.key();
+
+        // Con varias réplicas, otro nodo pudo haberlo resuelto: el nivel compartido va antes que la base
+        Boolean compartido = distributedVerdictCache.get(dnaKey);
+        if (compartido != null) {
+            mutantMetrics.veredicto(Origen.DISTRIBUIDA, compartido);
+            return compartido;
+        }
+
+        // Verifica si el ADN ya fue analizado previamente (cacheo). Si el filtro de Bloom lo descarta,
+        // seguro es nuevo y no hace falta consultar la base
+        long inicio;
+        if (dnaKeyFilter.puedeEstar(dnaKey)) {
+            inicio = System.nanoTime();
+            Optional<DnaRecord> dnaRecordGuardado = dnaRepository.findByDnaHash(dnaKey.toBytes());
+            mutantMetrics.etapa(Etapa.REPOSITORIO_BUSCAR, inicio);
+            if (dnaRecordGuardado.isPresent()) {
+                distributedVerdictCache.put(dnaKey, dnaRecordGuardado.get().getEsMutante());
+                mutantMetrics.veredicto(Origen.REPOSITORIO, dnaRecordGuardado.get().getEsMutante());
+                return dnaRecordGuardado.get().getEsMutante();
+            }
+            dnaKeyFilter.falsoPositivo();
         }
 
         // Si no está en cache, analiza el ADN y guarda el resultado
-        Boolean esMutante = mutantDetector.isMutant(dnaRequest.dna());
+        boolean esMutante = mutantDetector.isMutant(muestra.matrix(), muestra.rules());
         DnaRecord nuevoDnaRecord = new DnaRecord();
-        nuevoDnaRecord.setDnaHash(dnaHash);
+        nuevoDnaRecord.setDnaHash(dnaKey.toBytes());
         nuevoDnaRecord.setEsMutante(esMutante);
         nuevoDnaRecord.setFechaCreacion(LocalDateTime.now());
-        dnaRepository.save(nuevoDnaRecord);
-
-        return new DnaResponseDTO(esMutante);
+        // La inserción se hace en segundo plano: la respuesta solo depende de la detección.
+        // La clave entra al filtro antes de encolarse, así nunca queda guardada sin estar en el filtro
+        dnaKeyFilter.agregar(dnaKey);
+        inicio = System.nanoTime();
+        dnaRecordWriteBehind.guardar(nuevoDnaRecord);
+        mutantMetrics.etapa(Etapa.REPOSITORIO_GUARDAR, inicio);
+        distributedVerdictCache.putNuevo(dnaKey, esMutante);
+        statsService.registrar(nuevoDnaRecord);
+        mutantMetrics.veredicto(Origen.DETECCION, esMutante);
+        return esMutante;
     }
 
-    // Calcula el hash SHA-256 del ADN para usarlo como identificador único y evitar duplicados
-    private String calcularDnaHash(String[] dna){
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            String dnaString = String.join("", dna);
-            byte[] hashBytes = digest.digest(dnaString.getBytes(StandardCharsets.UTF_8));
-
-            // Convierte el hash de bytes a string hexadecimal
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');  // Asegura formato de 2 dígitos
-                hexString.append(hex);
+    // Analiza un lote de ADN: una sola consulta a la base por todos los hashes que no están en caché,
+    // detección en paralelo de los nuevos y un único insert en lote. Los ADN repetidos dentro del lote
+    // se analizan una sola vez.
+    public List<DnaResponseDTO> comprobarMutantes(List<DnaSample> muestras) {
+        Map<DnaKey, Boolean> veredictos = new HashMap<>();
+        Map<DnaKey, DnaSample> pendientes = new LinkedHashMap<>();
+
+        for (DnaSample muestra : muestras) {
+            Boolean veredictoCacheado = verdictCache.get(muestra.key());
+            if (veredictoCacheado != null) {
+                veredictos.put(muestra.key(), veredictoCacheado);
+                mutantMetrics.veredicto(Origen.CACHE, veredictoCacheado);
+            } else {
+                pendientes.putIfAbsent(muestra.key(), muestra);
+            }
+        }
+
+        // Nivel compartido entre réplicas para los que no estaban en la caché local
+        if (!pendientes.isEmpty()) {
+            distributedVerdictCache.getAll(pendientes.keySet()).forEach((dnaKey, esMutante) -> {
+                veredictos.put(dnaKey, esMutante);
+                mutantMetrics.veredicto(Origen.DISTRIBUIDA, esMutante);
+                pendientes.remove(dnaKey);
+            });
+        }
+
+        // Búsqueda en bloque de los que no estaban en caché y el filtro de Bloom no descarta
+        List<byte[]> hashes = pendientes.keySet().stream()
+                .filter(dnaKeyFilter::puedeEstar)
+                .map(DnaKey::toBytes)
+                .toList();
+        if (!hashes.isEmpty()) {
+            final long inicio = System.nanoTime();
+            List<DnaRecord> guardados = dnaRepository.findByDnaHashIn(hashes);
+            mutantMetrics.etapa(Etapa.REPOSITORIO_BUSCAR, inicio);
+            for (DnaRecord guardado : guardados) {
+                DnaKey guardadoKey = DnaKey.of(guardado.getDnaHash());
+                veredictos.put(guardadoKey, guardado.getEsMutante());
+                distributedVerdictCache.put(guardadoKey, guardado.getEsMutante());
+                mutantMetrics.veredicto(Origen.REPOSITORIO, guardado.getEsMutante());
+                pendientes.remove(guardadoKey);
+            }
+        }
+
+        // Detección en paralelo de los ADN nuevos y un único insert en lote
+        if (!pendientes.isEmpty()) {
+            List<DnaSample> nuevos = new ArrayList<>(pendientes.values());
+            List<DnaKey> keysNuevas = new ArrayList<>(pendientes.keySet());
+            boolean[] resultados = new boolean[nuevos.size()];
+            IntStream.range(0, nuevos.size()).parallel()
+                    .forEach(i -> resultados[i] = mutantDetector.isMutant(nuevos.get(i).matrix(), nuevos.get(i).rules()));
+
+            List<DnaRecord> registros = new ArrayList<>(nuevos.size());
+            LocalDateTime ahora = LocalDateTime.now();
+            for (int i = 0; i < nuevos.size(); i++) {
+                DnaRecord nuevoDnaRecord = new DnaRecord();
+                nuevoDnaRecord.setDnaHash(keysNuevas.get(i).toBytes());
+                nuevoDnaRecord.setEsMutante(resultados[i]);
+                nuevoDnaRecord.setFechaCreacion(ahora);
+                registros.add(nuevoDnaRecord);
+                veredictos.put(keysNuevas.get(i), resultados[i]);
+                dnaKeyFilter.agregar(keysNuevas.get(i));
+                distributedVerdictCache.putNuevo(keysNuevas.get(i), resultados[i]);
+                statsService.registrar(nuevoDnaRecord);
+                mutantMetrics.veredicto(Origen.DETECCION, resultados[i]);
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new DnaHashCalculationException("Error calculando hash", e);
+            // Un duplicado (guardado entre la búsqueda y el insert) tiene el mismo veredicto: la clave
+            // incluye las reglas y la detección es determinística. Solo se corrige el conteo.
+            // Los que la base rechazó por otro motivo se reintentan en segundo plano
+            DnaRecordBatchWriter.Resultado resultado = dnaRecordBatchWriter.insertAll(registros);
+            resultado.duplicados().forEach(statsService::descontar);
+            if (!resultado.fallidos().isEmpty()) dnaRecordWriteBehind.reintentar(resultado.fallidos());
+        }
+
+        List<DnaResponseDTO> respuestas = new ArrayList<>(muestras.size());
+        for (DnaSample muestra : muestras) {
+            respuestas.add(new DnaResponseDTO(veredictos.get(muestra.key())));
         }
+        return respuestas;
     }
 
 }
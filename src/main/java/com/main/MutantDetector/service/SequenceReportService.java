@@ -0,0 +1,47 @@
+package com.main.MutantDetector.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.main.MutantDetector.engine.DetectionRules;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.SequenceReporter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Reporte de secuencias en NDJSON: una línea por secuencia, escrita a medida que el recorrido la
+// encuentra (el generador de Jackson vuelca al stream cada vez que llena su buffer), y al final una
+// línea con el total y el veredicto según las reglas. No consulta ni modifica la caché ni la base.
+@Service
+@RequiredArgsConstructor
+public class SequenceReportService {
+    private final ObjectMapper objectMapper;
+
+    public int reportar(DnaSample muestra, OutputStream out) throws IOException {
+        final DetectionRules rules = muestra.rules();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(new SerializedString("\n"));
+
+            int secuencias = SequenceReporter.report(muestra.matrix(), rules, (fila, columna, direccion, base, largo) -> {
+                json.writeStartObject();
+                json.writeNumberField("fila", fila);
+                json.writeNumberField("columna", columna);
+                json.writeStringField("direccion", direccion.name());
+                json.writeStringField("base", String.valueOf(base));
+                json.writeNumberField("largo", largo);
+                json.writeEndObject();
+            });
+
+            json.writeStartObject();
+            json.writeNumberField("secuencias", secuencias);
+            json.writeBooleanField("esMutante", secuencias >= rules.threshold());
+            json.writeEndObject();
+            json.writeRaw('\n');
+            return secuencias;
+        }
+    }
+}
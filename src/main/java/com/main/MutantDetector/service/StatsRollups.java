@@ -0,0 +1,152 @@
+package com.main.MutantDetector.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Conteos de humanos y mutantes por intervalo de tiempo en buffers circulares de tres resoluciones:
+// por segundo (última hora), por minuto (últimos 7 días) y por hora (último año). Cada registro suma en
+// las tres; una consulta de rango usa la resolución más fina que todavía cubre cada tramo, así nunca
+// recorre más de unos miles de casilleros ni toca la base.
+// Los tiempos son segundos epoch; los casilleros se reciclan al avanzar el tiempo.
+public final class StatsRollups {
+    static final Resolucion[] RESOLUCIONES = {
+            new Resolucion(1, 3_600),
+            new Resolucion(60, 7 * 1_440),
+            new Resolucion(3_600, 366 * 24)
+    };
+
+    // Tamaño de cada casillero en segundos y cantidad de casilleros del buffer
+    record Resolucion(long segundos, int casilleros) {
+    }
+
+    // Rango efectivo de una consulta (alineado a los casilleros usados) y sus conteos
+    public record Conteo(long desde, long hasta, long humanos, long mutantes) {
+    }
+
+    private final Nivel[] niveles;
+
+    public StatsRollups() {
+        this(RESOLUCIONES);
+    }
+
+    StatsRollups(Resolucion... resoluciones) {
+        this.niveles = new Nivel[resoluciones.length];
+        for (int i = 0; i < resoluciones.length; i++) {
+            this.niveles[i] = new Nivel(resoluciones[i].segundos(), resoluciones[i].casilleros());
+        }
+    }
+
+    public void sumar(long segundo, boolean esMutante, long delta) {
+        for (Nivel nivel : niveles) {
+            nivel.sumar(segundo, esMutante, delta);
+        }
+    }
+
+    // Inicio del tramo más antiguo que todavía se conserva
+    public long retencion(long ahora) {
+        return niveles[niveles.length - 1].inicioRetenido(ahora);
+    }
+
+    // Suma el rango [desde, hasta) recorriendo de lo más reciente a lo más antiguo: cada nivel cubre el tramo
+    // que conserva, cortado en un borde del nivel siguiente para que el más grueso no lo cuente dos veces.
+    // Un tramo que no coincide con los bordes de su nivel se redondea hacia afuera (el rango efectivo lo indica).
+    public Conteo contar(long desde, long hasta, long ahora) {
+        hasta = Math.min(hasta, ahora + 1);
+        desde = Math.max(desde, retencion(ahora));
+        if (desde >= hasta) return new Conteo(desde, desde, 0, 0);
+
+        long humanos = 0, mutantes = 0;
+        long efectivoHasta = -1, efectivoDesde = hasta;
+        long cursor = hasta;
+        for (int i = 0; i < niveles.length && cursor > desde; i++) {
+            Nivel nivel = niveles[i];
+            long inicio = Math.max(desde, nivel.inicioRetenido(ahora));
+            if (inicio > desde && i + 1 < niveles.length) {
+                inicio = Math.min(cursor, ceil(inicio, niveles[i + 1].segundos));
+            }
+            if (inicio >= cursor) continue;
+
+            long primero = Math.floorDiv(inicio, nivel.segundos);
+            long ultimo = Math.floorDiv(cursor - 1, nivel.segundos);
+            for (long casillero = primero; casillero <= ultimo; casillero++) {
+                humanos += nivel.leer(nivel.humanos, casillero);
+                mutantes += nivel.leer(nivel.mutantes, casillero);
+            }
+            if (efectivoHasta < 0) efectivoHasta = (ultimo + 1) * nivel.segundos;
+            efectivoDesde = primero * nivel.segundos;
+            cursor = inicio;
+        }
+        return new Conteo(efectivoDesde, efectivoHasta, humanos, mutantes);
+    }
+
+    private static long ceil(long segundo, long paso) {
+        return -Math.floorDiv(-segundo, paso) * paso;
+    }
+
+    // Un buffer circular: el casillero i guarda el intervalo `ids[i]` (segundo / tamaño) y sus conteos
+    private static final class Nivel {
+        // Marca de un casillero que se está reciclando (ningún intervalo real la usa)
+        static final long RECICLANDO = Long.MIN_VALUE;
+
+        final long segundos;
+        final int casilleros;
+        final AtomicLongArray ids;
+        // Sumas en curso por casillero: el reciclado espera a que terminen antes de limpiar los conteos
+        final AtomicIntegerArray escribiendo;
+        final AtomicLongArray humanos;
+        final AtomicLongArray mutantes;
+
+        Nivel(long segundos, int casilleros) {
+            this.segundos = segundos;
+            this.casilleros = casilleros;
+            this.ids = new AtomicLongArray(casilleros);
+            this.escribiendo = new AtomicIntegerArray(casilleros);
+            this.humanos = new AtomicLongArray(casilleros);
+            this.mutantes = new AtomicLongArray(casilleros);
+        }
+
+        long inicioRetenido(long ahora) {
+            return (Math.floorDiv(ahora, segundos) - casilleros + 1) * segundos;
+        }
+
+        void sumar(long segundo, boolean esMutante, long delta) {
+            final long id = Math.floorDiv(segundo, segundos);
+            final int i = (int) Math.floorMod(id, casilleros);
+            while (true) {
+                // Se anota antes de validar el intervalo: si el casillero sigue en `id` el reciclado no puede
+                // limpiarlo hasta que la suma termine, y si cambió se vuelve a intentar sin sumar
+                escribiendo.incrementAndGet(i);
+                final long actual = ids.get(i);
+                if (actual == id) {
+                    (esMutante ? mutantes : humanos).addAndGet(i, delta);
+                    escribiendo.decrementAndGet(i);
+                    return;
+                }
+                escribiendo.decrementAndGet(i);
+                // Otro hilo está reciclando el casillero
+                if (actual == RECICLANDO) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                // Un registro más viejo que la retención del nivel ya no tiene casillero
+                if (actual > id) return;
+                // El que gana el CAS recicla el casillero (sin locks en el camino del request): lo marca, espera
+                // las sumas que ya habían validado el intervalo viejo, limpia los conteos y recién entonces
+                // publica el intervalo nuevo, así ninguna suma del intervalo viejo cae en el nuevo
+                if (ids.compareAndSet(i, actual, RECICLANDO)) {
+                    while (escribiendo.get(i) != 0) {
+                        Thread.onSpinWait();
+                    }
+                    humanos.set(i, 0);
+                    mutantes.set(i, 0);
+                    ids.set(i, id);
+                }
+            }
+        }
+
+        long leer(AtomicLongArray conteos, long id) {
+            final int i = (int) Math.floorMod(id, casilleros);
+            return ids.get(i) == id ? conteos.get(i) : 0;
+        }
+    }
+}
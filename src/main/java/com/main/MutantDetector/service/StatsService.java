@@ -1,24 +1,113 @@
 package com.main.MutantDetector.service;
 
 import com.main.MutantDetector.dto.StatsResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanaResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanasResponseDTO;
+import com.main.MutantDetector.entity.DnaRecord;
 import com.main.MutantDetector.repository.DnaRecordRepository;
+import com.main.MutantDetector.repository.DnaVerdictReader;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.LongAdder;
+
 @Service
 @RequiredArgsConstructor
 public class StatsService {
     private final DnaRecordRepository dnaRecordRepository;
+    private final DnaVerdictReader dnaVerdictReader;
+
+    // Contadores en memoria (LongAdder: celdas por hilo, sin contención entre requests concurrentes)
+    private final LongAdder cantHumanos = new LongAdder();
+    private final LongAdder cantMutantes = new LongAdder();
+    // Conteos por ventana de tiempo; se reemplazan enteros al recargar
+    private volatile StatsRollups rollups = new StatsRollups();
+
+    // Carga los totales una sola vez al iniciar; después se mantienen con registrar()
+    @PostConstruct
+    public void recargar() {
+        long humanos = dnaRecordRepository.countByEsMutante(false);
+        long mutantes = dnaRecordRepository.countByEsMutante(true);
+        cantHumanos.reset();
+        cantMutantes.reset();
+        cantHumanos.add(humanos);
+        cantMutantes.add(mutantes);
+
+        // Las ventanas se arman con una sola lectura en streaming de lo creado dentro de la retención
+        StatsRollups nuevos = new StatsRollups();
+        long desde = nuevos.retencion(Instant.now().getEpochSecond());
+        dnaVerdictReader.forEachVerdictSince(fecha(desde),
+                (fechaCreacion, esMutante) -> nuevos.sumar(segundo(fechaCreacion), esMutante, 1));
+        rollups = nuevos;
+    }
+
+    // Registra un DnaRecord nuevo guardado por MutantService
+    public void registrar(DnaRecord dnaRecord) {
+        (dnaRecord.getEsMutante() ? cantMutantes : cantHumanos).increment();
+        rollups.sumar(segundo(dnaRecord.getFechaCreacion()), dnaRecord.getEsMutante(), 1);
+    }
+
+    // Descuenta un DnaRecord registrado que al guardarse resultó duplicado (otro request o instancia lo guardó antes)
+    public void descontar(DnaRecord dnaRecord) {
+        (dnaRecord.getEsMutante() ? cantMutantes : cantHumanos).decrement();
+        rollups.sumar(segundo(dnaRecord.getFechaCreacion()), dnaRecord.getEsMutante(), -1);
+    }
 
-    // Calcula y retorna estadísticas de todos los ADN analizados (humanos, mutantes y ratio)
+    // Retorna estadísticas de todos los ADN analizados (humanos, mutantes y ratio) sin consultar la base
     public StatsResponseDTO getStats() {
-        long dnaRecordHumanos =  dnaRecordRepository.countByEsMutante(false);
-        long dnaRecordMutantes = dnaRecordRepository.countByEsMutante(true);
-        double ratioMutantes = (double) dnaRecordMutantes /dnaRecordHumanos;
+        long dnaRecordHumanos = cantHumanos.sum();
+        long dnaRecordMutantes = cantMutantes.sum();
         return StatsResponseDTO.builder()
                 .cantHumanos(dnaRecordHumanos)
                 .cantMutantes(dnaRecordMutantes)
-                .ratio(ratioMutantes)
+                .ratio(ratio(dnaRecordHumanos, dnaRecordMutantes))
+                .build();
+    }
+
+    // Estadísticas del último minuto, la última hora y el último día
+    public StatsVentanasResponseDTO getVentanas() {
+        LocalDateTime ahora = LocalDateTime.now();
+        return StatsVentanasResponseDTO.builder()
+                .ultimoMinuto(getRango(ahora.minus(Duration.ofMinutes(1)), ahora))
+                .ultimaHora(getRango(ahora.minus(Duration.ofHours(1)), ahora))
+                .ultimoDia(getRango(ahora.minus(Duration.ofDays(1)), ahora))
                 .build();
     }
+
+    // Estadísticas de los ADN creados en [desde, hasta), desde los conteos en memoria (sin consultar la base).
+    // Lo anterior a la retención (un año) no se cuenta; el rango efectivo viene en la respuesta.
+    public StatsVentanaResponseDTO getRango(LocalDateTime desde, LocalDateTime hasta) {
+        StatsRollups.Conteo conteo = rollups.contar(segundo(desde), segundoHasta(hasta), Instant.now().getEpochSecond());
+        return StatsVentanaResponseDTO.builder()
+                .desde(fecha(conteo.desde()))
+                .hasta(fecha(conteo.hasta()))
+                .cantHumanos(conteo.humanos())
+                .cantMutantes(conteo.mutantes())
+                .ratio(ratio(conteo.humanos(), conteo.mutantes()))
+                .build();
+    }
+
+    // Sin humanos registrados el ratio no está definido: se informa 0
+    private static double ratio(long humanos, long mutantes) {
+        return humanos == 0 ? 0.0 : (double) mutantes / humanos;
+    }
+
+    // created_at se guarda como LocalDateTime en la zona del servidor
+    private static long segundo(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    // Fin excluido redondeado hacia arriba: lo creado en el segundo en curso entra en las ventanas que terminan ahora
+    private static long segundoHasta(LocalDateTime fecha) {
+        return segundo(fecha) + (fecha.getNano() > 0 ? 1 : 0);
+    }
+
+    private static LocalDateTime fecha(long segundo) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(segundo), ZoneId.systemDefault());
+    }
 }
@@ -0,0 +1,118 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.cache.VerdictCache;
+import com.main.MutantDetector.engine.DetectionProfiles;
+import com.main.MutantDetector.engine.DetectionRules;
+import com.main.MutantDetector.engine.DnaJsonReader;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.PackedDnaPool;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.repository.DnaRecordRepository;
+import com.main.MutantDetector.repository.DnaVerdictReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Calentamiento al iniciar, antes de que la aplicación se marque lista para recibir tráfico (los
+// ApplicationRunner corren antes del evento ApplicationReady que habilita la readiness):
+// 1. precarga en la caché los veredictos guardados más recientes, para que el primer tráfico no vaya a la base
+// 2. ejecuta una consulta por dna_hash para inicializar el pool de conexiones
+// 3. repite lectura JSON + detección sobre ADN sintéticos de cada perfil durante un tiempo acotado, para que
+//    el JIT compile el recorrido empaquetado antes del primer request
+// Las detecciones del calentamiento se registran en mutant.deteccion como las demás; no se guardan.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmUpService implements ApplicationRunner {
+    // Tamaños de los ADN sintéticos: chicos (el caso común) y uno por encima del umbral en paralelo
+    private static final int[] SIZES = {6, 32, 100, 1000};
+
+    private final DnaVerdictReader dnaVerdictReader;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final VerdictCache verdictCache;
+    private final DnaJsonReader dnaJsonReader;
+    private final MutantDetector mutantDetector;
+    private final DetectionProfiles detectionProfiles;
+    private final PackedDnaPool packedDnaPool;
+
+    @Value("${mutant.warmup.enabled:true}")
+    private boolean enabled;
+    @Value("${mutant.warmup.recent-verdicts:50000}")
+    private int recentVerdicts;
+    @Value("${mutant.warmup.detection-ms:1000}")
+    private long detectionMillis;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InvalidDnaException {
+        if (!enabled) return;
+        final long inicio = System.nanoTime();
+        int precargados = precargarVeredictos();
+        dnaRecordRepository.findByDnaHash(new byte[DnaKey.BYTES]);
+        int detecciones = calentarDeteccion();
+        log.info("Calentamiento: {} veredictos precargados y {} detecciones en {} ms",
+                precargados, detecciones, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // Conviene no superar mutant.cache.max-size: lo que no entra se desaloja enseguida
+    int precargarVeredictos() {
+        if (recentVerdicts <= 0) return 0;
+        int[] precargados = {0};
+        dnaVerdictReader.forEachRecentVerdict(recentVerdicts, (hash, esMutante) -> {
+            verdictCache.put(DnaKey.of(hash), esMutante);
+            precargados[0]++;
+        });
+        return precargados[0];
+    }
+
+    int calentarDeteccion() throws IOException, InvalidDnaException {
+        if (detectionMillis <= 0) return 0;
+        List<DetectionRules> reglas = new ArrayList<>();
+        List<byte[]> cuerpos = new ArrayList<>();
+        for (DetectionRules rules : detectionProfiles.all()) {
+            for (int size : SIZES) {
+                reglas.add(rules);
+                cuerpos.add(json(rules.alphabet(), size));
+            }
+        }
+
+        final long limite = System.nanoTime() + detectionMillis * 1_000_000;
+        int detecciones = 0;
+        while (System.nanoTime() < limite) {
+            for (int i = 0; i < cuerpos.size(); i++) {
+                DnaSample muestra = dnaJsonReader.read(new ByteArrayInputStream(cuerpos.get(i)), reglas.get(i));
+                try {
+                    mutantDetector.isMutant(muestra.matrix(), reglas.get(i));
+                } finally {
+                    packedDnaPool.release(muestra.matrix());
+                }
+                detecciones++;
+            }
+        }
+        return detecciones;
+    }
+
+    // {"dna":["ACGT...", ...]} con la base (columna + 2 * fila) del alfabeto: con 4 letras no hay dos bases
+    // vecinas iguales en ninguna dirección, así la detección recorre la matriz completa (el peor caso)
+    private static byte[] json(String alphabet, int size) {
+        StringBuilder json = new StringBuilder(size * (size + 3) + 16).append("{\"dna\":[");
+        for (int row = 0; row < size; row++) {
+            if (row > 0) json.append(',');
+            json.append('"');
+            for (int col = 0; col < size; col++) {
+                json.append(alphabet.charAt((col + 2 * row) % alphabet.length()));
+            }
+            json.append('"');
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
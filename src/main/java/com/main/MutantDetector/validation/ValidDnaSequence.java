@@ -1,18 +0,0 @@
-package com.main.MutantDetector.validation;
-
-import jakarta.validation.Constraint;
-import jakarta.validation.Payload;
-
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Retention;
-import java.lang.annotation.RetentionPolicy;
-import java.lang.annotation.Target;
-
-@Target({ElementType.FIELD})
-@Retention(RetentionPolicy.RUNTIME)
-@Constraint(validatedBy = ValidDnaSequenceValidator.class)
-public @interface ValidDnaSequence {
-    String message() default "Secuencia de ADN inválida";
-    Class<?>[] groups() default {};
-    Class<? extends Payload>[] payload() default {};
-}
@@ -6,10 +6,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -118,6 +124,37 @@ class MutantControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // Test: POST /mutant retorna 400 Bad Request si hay más filas que columnas (se corta en la fila sobrante)
+    @Test
+    public void testExtraRows_ReturnBadRequest() throws Exception {
+        String dnaJson = """
+            {
+                "dna": ["ATGC","CAGT","TTAT","AGAA","CCCC"]
+            }
+            """;
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dnaJson))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test: POST /mutant ignora campos adicionales del cuerpo y analiza matrices de más de una palabra por fila
+    @Test
+    public void testLargeMutantWithExtraField_ReturnOk() throws Exception {
+        StringBuilder dnaJson = new StringBuilder("{\"origen\": {\"lote\": [1, 2]}, \"dna\": [");
+        for (int row = 0; row < 40; row++) {
+            if (row > 0) dnaJson.append(',');
+            dnaJson.append('"').append(row < 2 ? "G".repeat(40) : "ACGT".repeat(10).substring(row % 4) + "ACGT".substring(0, row % 4)).append('"');
+        }
+        dnaJson.append("]}");
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dnaJson.toString()))
+                .andExpect(status().isOk());
+    }
+
     // Test: GET /stats retorna 200 OK con estadísticas válidas (cantHumanos, cantMutantes, ratio)
     @Test
     public void testStatsEndpoint_ReturnOk() throws Exception {
@@ -127,4 +164,152 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.cantMutantes").exists())
                 .andExpect(jsonPath("$.ratio").exists());
     }
-}
\ No newline at end of file
+
+    // Test: GET /stats/ventanas y /stats/rango retornan 200 OK; un rango invertido retorna 400
+    @Test
+    public void testStatsWindowEndpoints() throws Exception {
+        mockMvc.perform(get("/stats/ventanas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ultimoMinuto.cantMutantes").exists())
+                .andExpect(jsonPath("$.ultimaHora.ratio").exists())
+                .andExpect(jsonPath("$.ultimoDia.desde").exists());
+
+        mockMvc.perform(get("/stats/rango").param("desde", "2026-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantHumanos").exists());
+
+        mockMvc.perform(get("/stats/rango")
+                        .param("desde", "2026-01-02T00:00:00")
+                        .param("hasta", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test: DELETE /stats/cache vacía la caché y retorna 204 No Content
+    @Test
+    public void testCacheInvalidateEndpoint_ReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/stats/cache"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/stats/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tamanio").value(0));
+    }
+
+    // Test: GET /stats/cache retorna 200 OK con los contadores de la caché
+    @Test
+    public void testCacheStatsEndpoint_ReturnOk() throws Exception {
+        mockMvc.perform(get("/stats/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aciertos").exists())
+                .andExpect(jsonPath("$.fallos").exists())
+                .andExpect(jsonPath("$.desalojos").exists());
+    }
+
+    // Test: después de un POST /mutant, Actuator expone los tiempos por etapa y la detección por rango de N
+    @Test
+    public void testMetricsEndpoint_ExposesStageTimers() throws Exception {
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"AAAAGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/mutant.etapa").param("tag", "etapa:lectura"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isNotEmpty());
+        mockMvc.perform(get("/actuator/metrics/mutant.deteccion").param("tag", "tamanio:<=10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/mutant.veredictos").param("tag", "resultado:mutante"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:veredictos"))
+                .andExpect(status().isOk());
+    }
+
+    // Test: POST /mutant/batch retorna un veredicto por muestra, en el mismo orden del arreglo
+    @Test
+    public void testBatchEndpoint_ReturnVerdicts() throws Exception {
+        String batchJson = """
+            [
+                {"dna": ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]},
+                {"dna": ["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]},
+                {"dna": ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]}
+            ]
+            """;
+
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].esMutante").value(true))
+                .andExpect(jsonPath("$[1].esMutante").value(false))
+                .andExpect(jsonPath("$[2].esMutante").value(true));
+    }
+
+    // Test: POST /mutant/batch acepta NDJSON (un objeto por línea)
+    @Test
+    public void testBatchEndpointNdjson_ReturnVerdicts() throws Exception {
+        String batchNdjson = """
+            {"dna": ["AAAA","CCCC","TCAG","GACT"]}
+            {"dna": ["ACGT","TGCA","ACGT","TGCA"]}
+            """;
+
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(batchNdjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].esMutante").value(true))
+                .andExpect(jsonPath("$[1].esMutante").value(false));
+    }
+
+    // Test: POST /mutant/batch retorna 400 Bad Request si alguna muestra es inválida
+    @Test
+    public void testBatchEndpointInvalidSample_ReturnBadRequest() throws Exception {
+        String batchJson = """
+            [{"dna": ["ACGT","TGCA","ACGT","TGCA"]}, {"dna": ["ATGX","CAGT"]}]
+            """;
+
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batchJson))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test: POST /mutant?perfil=rna acepta U en lugar de T y un perfil desconocido retorna 400 Bad Request
+    @Test
+    public void testMutantEndpointWithProfile() throws Exception {
+        mockMvc.perform(post("/mutant").param("perfil", "rna")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"UUUUGA\",\"CAGUGC\",\"UUAUGU\",\"AGAAGG\",\"CCCCUA\",\"UCACUG\"]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"UUUUGA\",\"CAGUGC\",\"UUAUGU\",\"AGAAGG\",\"CCCCUA\",\"UCACUG\"]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/mutant").param("perfil", "inexistente")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test: POST /mutant/report responde NDJSON con una línea por secuencia y el total al final
+    @Test
+    public void testReportEndpoint_StreamsSequences() throws Exception {
+        MvcResult result = mockMvc.perform(post("/mutant/report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String[] lineas = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(4, lineas.length);
+        assertEquals("{\"fila\":0,\"columna\":4,\"direccion\":\"VERTICAL\",\"base\":\"G\",\"largo\":4}", lineas[0]);
+        assertEquals("{\"fila\":0,\"columna\":0,\"direccion\":\"DIAGONAL_DESCENDENTE\",\"base\":\"A\",\"largo\":4}", lineas[1]);
+        assertEquals("{\"fila\":4,\"columna\":0,\"direccion\":\"HORIZONTAL\",\"base\":\"C\",\"largo\":4}", lineas[2]);
+        assertEquals("{\"secuencias\":3,\"esMutante\":true}", lineas[3]);
+    }
+}
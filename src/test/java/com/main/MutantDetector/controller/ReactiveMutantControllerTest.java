@@ -0,0 +1,63 @@
+package com.main.MutantDetector.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "mutant.reactive.enabled=true")
+@AutoConfigureMockMvc
+class ReactiveMutantControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Test: POST /reactive/mutant responde en modo asíncrono con 200 OK para un mutante y 403 para un humano
+    @Test
+    public void testReactiveMutantEndpoint_ReturnVerdicts() throws Exception {
+        MvcResult mutante = mockMvc.perform(post("/reactive/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mutante)).andExpect(status().isOk());
+
+        MvcResult humano = mockMvc.perform(post("/reactive/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(humano)).andExpect(status().isForbidden());
+    }
+
+    // Test: POST /reactive/mutant retorna 400 Bad Request para ADN inválido, sin llegar al scheduler
+    @Test
+    public void testReactiveInvalidDna_ReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/reactive/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGX\",\"CAGT\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test: GET /reactive/stats retorna las mismas estadísticas que GET /stats
+    @Test
+    public void testReactiveStatsEndpoint_ReturnOk() throws Exception {
+        MvcResult result = mockMvc.perform(get("/reactive/stats"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cantHumanos").exists())
+                .andExpect(jsonPath("$.cantMutantes").exists())
+                .andExpect(jsonPath("$.ratio").exists());
+    }
+}
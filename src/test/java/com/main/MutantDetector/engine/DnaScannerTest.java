@@ -0,0 +1,89 @@
+package com.main.MutantDetector.engine;
+
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaScannerTest {
+    private final DnaScanner scanner = new DnaScanner(new Sha256DnaHasher());
+
+    // Test: el hash calculado durante el escaneo es el SHA-256 de las filas concatenadas
+    @Test
+    void testScan_hashMatchesJoinedRows() throws Exception {
+        String[] dna = PackedSequenceEngineTest.randomDna(40, 4, new Random(3));
+        byte[] expected = MessageDigest.getInstance("SHA-256")
+                .digest(String.join("", dna).getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, scanner.scan(dna).key().toBytes());
+    }
+
+    // Test: la matriz empaquetada por el escaneo es igual a la empaquetada fila por fila
+    @Test
+    void testScan_packsEveryBase() throws InvalidDnaException {
+        String[] dna = PackedSequenceEngineTest.randomDna(33, 4, new Random(5));
+        PackedDna expected = PackedDna.pack(dna);
+        PackedDna packed = scanner.scan(dna).matrix();
+        for (int row = 0; row < dna.length; row++) {
+            for (int col = 0; col < dna.length; col++) {
+                assertEquals(expected.code(row, col), packed.code(row, col));
+            }
+        }
+    }
+
+    // Test: la huella de 128 bits distingue matrices distintas y es estable para la misma matriz
+    @Test
+    void testFingerprint_stableAndDistinct() throws InvalidDnaException {
+        DnaScanner fingerprintScanner = new DnaScanner(new FingerprintDnaHasher());
+        String[] dna = PackedSequenceEngineTest.randomDna(40, 4, new Random(11));
+        DnaKey key = fingerprintScanner.scan(dna).key();
+        assertEquals(key, fingerprintScanner.scan(dna.clone()).key());
+
+        dna[39] = dna[39].substring(0, 39) + (dna[39].charAt(39) == 'A' ? 'C' : 'A');
+        assertNotEquals(key, fingerprintScanner.scan(dna).key());
+        assertNotEquals(fingerprintScanner.scan(new String[]{"A"}).key(),
+                fingerprintScanner.scan(new String[]{"AA", "AA"}).key());
+    }
+
+    // Test: filas de distinto largo se rechazan aunque el total de letras sea N*N
+    @Test
+    void testScan_raggedRows() {
+        String[] dna = {"AAAAA", "AAA", "AAAA", "AAAA"};
+        assertThrows(InvalidDnaException.class, () -> scanner.scan(dna));
+    }
+
+    // Test: caracteres fuera del alfabeto (incluyendo no ASCII) se rechazan
+    @Test
+    void testScan_invalidBases() {
+        assertThrows(InvalidDnaException.class, () -> scanner.scan(new String[]{"ATGC", "ATGC", "ATÑC", "ATGC"}));
+        assertThrows(InvalidDnaException.class, () -> scanner.validate(new String[]{"ATGC", "ATGC", "ATGa", "ATGC"}));
+    }
+
+    // Test: con un alfabeto propio se aceptan sus letras, se rechazan las demás y el mensaje las nombra
+    @Test
+    void testScan_customAlphabet() throws InvalidDnaException {
+        DetectionRules rna = new DetectionRules("rna", "ACGU", 4, 2);
+        PackedDna packed = scanner.scan(new String[]{"ACGU", "UUUU", "ACGU", "GGGG"}, rna).matrix();
+        assertEquals(packed.code(1, 0), packed.code(1, 3));
+        assertNotEquals(packed.code(0, 0), packed.code(0, 3));
+
+        InvalidDnaException error = assertThrows(InvalidDnaException.class,
+                () -> scanner.scan(new String[]{"ACGT", "ACGU", "ACGU", "ACGU"}, rna));
+        assertEquals("Las únicas letras permitidas son A, C, G y U.", error.getMessage());
+        assertEquals("Las únicas letras permitidas son A, T, C y G.",
+                assertThrows(InvalidDnaException.class, () -> scanner.scan(new String[]{"U"})).getMessage());
+    }
+
+    // Test: la clave depende de las reglas, salvo que sean equivalentes a las estándar
+    @Test
+    void testScan_keyDependsOnRules() throws InvalidDnaException {
+        String[] dna = PackedSequenceEngineTest.randomDna(20, 4, new Random(13));
+        DnaKey standard = scanner.scan(dna).key();
+        assertEquals(standard, scanner.scan(dna, new DetectionRules("otro", "GCTA", 4, 2)).key());
+        assertNotEquals(standard, scanner.scan(dna, new DetectionRules("largo", "ATCG", 5, 2)).key());
+        assertNotEquals(standard, scanner.scan(dna, new DetectionRules("umbral", "ATCG", 4, 3)).key());
+    }
+}
@@ -0,0 +1,140 @@
+package com.main.MutantDetector.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedSequenceEngineTest {
+    private static final char[] BASES = {'A', 'T', 'C', 'G'};
+
+    private final SequenceEngine engine = new PackedSequenceEngine();
+
+    // Test: el empaquetado conserva cada base en su posición (incluyendo filas de más de una palabra)
+    @Test
+    void testPack_roundTrip() {
+        String[] dna = randomDna(70, 4, new Random(7));
+        PackedDna packed = PackedDna.pack(dna);
+        for (int row = 0; row < dna.length; row++) {
+            for (int col = 0; col < dna.length; col++) {
+                assertEquals(PackedDna.encode(dna[row].charAt(col)), packed.code(row, col));
+            }
+        }
+    }
+
+    // Test: una matriz reutilizada con otro tamaño no arrastra bases de la carga anterior a las guardas
+    @Test
+    void testReset_reusedBuffer() {
+        PackedDna packed = PackedDna.pack(randomDna(70, 1, new Random(1)));
+        String[] dna = randomDna(40, 4, new Random(9));
+        packed.reset(dna.length);
+        for (int row = 0; row < dna.length; row++) {
+            packed.setRow(row, dna[row]);
+        }
+        assertEquals(referenceCount(dna), engine.countSequences(packed, Integer.MAX_VALUE));
+    }
+
+    // Test: reservar las filas de a una (como la lectura en streaming) da el mismo conteo que la matriz completa
+    @Test
+    void testEnsureRows_incrementalReserve() {
+        PackedDna packed = PackedDna.pack(randomDna(70, 1, new Random(3)));
+        String[] dna = randomDna(100, 4, new Random(11));
+        packed.reset(dna.length, 1);
+        for (int row = 0; row < dna.length; row++) {
+            packed.ensureRows(row + 1);
+            packed.setRow(row, dna[row]);
+        }
+        assertEquals(referenceCount(dna), engine.countSequences(packed, Integer.MAX_VALUE));
+    }
+
+    // Test: una secuencia de más de 4 bases iguales se cuenta una sola vez en cada dirección
+    @Test
+    void testCountSequences_longRunsCountOnce() {
+        String[] dna = {
+                "AAAAAAC",
+                "CTGCTGA",
+                "GCATCAC",
+                "TCGCTGT",
+                "ACGTATC",
+                "CTCAGTA",
+                "GTACATG"
+        };
+        assertEquals(1, engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+    }
+
+    // Test: el conteo por palabras coincide con un recorrido celda por celda en matrices aleatorias
+    @ParameterizedTest
+    @ValueSource(ints = {4, 5, 6, 31, 32, 33, 64, 65, 100})
+    void testCountSequences_matchesReference(int n) {
+        Random random = new Random(n);
+        for (int alphabet = 1; alphabet <= 4; alphabet++) {
+            String[] dna = randomDna(n, alphabet, random);
+            assertEquals(referenceCount(dna), engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+        }
+    }
+
+    // Test: recorrer la matriz en tramos de filas (como las bandas en paralelo) da lo mismo que por fila
+    @ParameterizedTest
+    @ValueSource(ints = {5, 33, 70})
+    void testCountRows_rangesMatchRowByRow(int n) {
+        Random random = new Random(n);
+        for (int alphabet = 1; alphabet <= 4; alphabet++) {
+            PackedDna packed = PackedDna.pack(randomDna(n, alphabet, random));
+            int expected = 0;
+            for (int row = 0; row < n; row++) {
+                expected += engine.countRow(packed, row);
+            }
+            int total = 0;
+            for (int from = 0; from < n; from += 7) {
+                total += engine.countRows(packed, from, Math.min(from + 7, n), Integer.MAX_VALUE);
+            }
+            assertEquals(expected, total);
+        }
+    }
+
+    static String[] randomDna(int n, int alphabet, Random random) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = BASES[random.nextInt(alphabet)];
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+
+    // Cuenta las secuencias maximales de 4 o más bases iguales en las 4 direcciones
+    static int referenceCount(String[] dna) {
+        return referenceCount(dna, SequenceEngine.SEQUENCE_LENGTH);
+    }
+
+    // Igual que referenceCount(String[]) para secuencias de `runLength` o más bases
+    static int referenceCount(String[] dna, int runLength) {
+        final int n = dna.length;
+        final int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}};
+        int count = 0;
+        for (int[] d : directions) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    char base = dna[row].charAt(col);
+                    int prevRow = row - d[0], prevCol = col - d[1];
+                    if (inside(n, prevRow, prevCol) && dna[prevRow].charAt(prevCol) == base) continue;
+                    int length = 0;
+                    for (int r = row, c = col; inside(n, r, c) && dna[r].charAt(c) == base; r += d[0], c += d[1]) {
+                        length++;
+                    }
+                    if (length >= runLength) count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean inside(int n, int row, int col) {
+        return row >= 0 && row < n && col >= 0 && col < n;
+    }
+}
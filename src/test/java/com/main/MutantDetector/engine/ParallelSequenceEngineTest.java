@@ -0,0 +1,60 @@
+package com.main.MutantDetector.engine;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.main.MutantDetector.engine.PackedSequenceEngineTest.randomDna;
+import static com.main.MutantDetector.engine.PackedSequenceEngineTest.referenceCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSequenceEngineTest {
+    // Un solo pool para toda la clase (JUnit crea una instancia por test)
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final SequenceEngine engine = new ParallelSequenceEngine(new PackedSequenceEngine(), 0, POOL);
+
+    @AfterAll
+    static void tearDown() {
+        POOL.shutdown();
+    }
+
+    // Test: el recorrido por bandas cuenta lo mismo que el de referencia (sin duplicar secuencias en los cortes)
+    @ParameterizedTest
+    @ValueSource(ints = {4, 17, 64, 250})
+    void testCountSequences_matchesReference(int n) {
+        Random random = new Random(n);
+        for (int alphabet = 1; alphabet <= 4; alphabet++) {
+            String[] dna = randomDna(n, alphabet, random);
+            assertEquals(referenceCount(dna), engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+        }
+    }
+
+    // Test: una secuencia vertical que cruza el corte entre dos bandas se cuenta una sola vez
+    @Test
+    void testCountSequences_runAcrossBands() {
+        String[] dna = randomDna(64, 4, new Random(1));
+        for (int row = 14; row < 20; row++) {
+            char[] chars = dna[row].toCharArray();
+            chars[10] = 'G';
+            chars[9] = chars[11] = 'A';
+            dna[row] = new String(chars);
+        }
+        assertEquals(referenceCount(dna), engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+    }
+
+    // Test: con matrices llenas de secuencias corta apenas alcanza el límite
+    @Test
+    void testCountSequences_earlyTermination() {
+        String[] dna = new String[512];
+        Arrays.fill(dna, "A".repeat(512));
+        int count = engine.countSequences(PackedDna.pack(dna), 2);
+        assertTrue(count >= 2);
+        assertTrue(count < referenceCount(dna));
+    }
+}
@@ -0,0 +1,57 @@
+package com.main.MutantDetector.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunLengthSequenceEngineTest {
+
+    // Test: para cada largo de secuencia el conteo coincide con el recorrido celda por celda
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 5, 8, 32})
+    void testCountSequences_matchesReference(int runLength) {
+        SequenceEngine engine = new RunLengthSequenceEngine(runLength);
+        Random random = new Random(runLength);
+        for (int n : new int[]{1, 4, 31, 33, 70}) {
+            for (int alphabet = 1; alphabet <= 4; alphabet++) {
+                String[] dna = PackedSequenceEngineTest.randomDna(n, alphabet, random);
+                assertEquals(PackedSequenceEngineTest.referenceCount(dna, runLength),
+                        engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE), "n=" + n);
+            }
+        }
+    }
+
+    // Test: con secuencias de 4 cuenta lo mismo que el motor especializado
+    @Test
+    void testCountSequences_sameAsPackedEngineForFour() {
+        SequenceEngine generic = new RunLengthSequenceEngine(SequenceEngine.SEQUENCE_LENGTH);
+        SequenceEngine packed = new PackedSequenceEngine();
+        Random random = new Random(4);
+        for (int alphabet = 1; alphabet <= 4; alphabet++) {
+            PackedDna dna = PackedDna.pack(PackedSequenceEngineTest.randomDna(65, alphabet, random));
+            assertEquals(packed.countSequences(dna, Integer.MAX_VALUE), generic.countSequences(dna, Integer.MAX_VALUE));
+        }
+    }
+
+    // Test: withRunLength conserva el motor especializado para 4 y el recorrido en paralelo para otros largos
+    @Test
+    void testWithRunLength_selectsEngine() {
+        SequenceEngine packed = new PackedSequenceEngine();
+        assertSame(packed, packed.withRunLength(SequenceEngine.SEQUENCE_LENGTH));
+        assertInstanceOf(RunLengthSequenceEngine.class, packed.withRunLength(6));
+
+        SequenceEngine parallel = new ParallelSequenceEngine(packed, 10, ForkJoinPool.commonPool());
+        SequenceEngine parallelSix = parallel.withRunLength(6);
+        assertInstanceOf(ParallelSequenceEngine.class, parallelSix);
+        assertEquals(6, parallelSix.runLength());
+
+        String[] dna = PackedSequenceEngineTest.randomDna(100, 2, new Random(6));
+        assertEquals(PackedSequenceEngineTest.referenceCount(dna, 6),
+                parallelSix.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+    }
+}
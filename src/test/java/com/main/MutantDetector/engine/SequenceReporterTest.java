@@ -0,0 +1,80 @@
+package com.main.MutantDetector.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceReporterTest {
+
+    // Test: el reporte trae exactamente las secuencias del recorrido celda por celda, con su largo
+    @ParameterizedTest
+    @ValueSource(ints = {3, 4, 5})
+    void testReport_matchesReference(int runLength) throws IOException {
+        DetectionRules rules = new DetectionRules("test", "ATCG", runLength, 2);
+        Random random = new Random(runLength);
+        for (int n : new int[]{4, 33, 70}) {
+            for (int alphabet = 1; alphabet <= 3; alphabet++) {
+                String[] dna = PackedSequenceEngineTest.randomDna(n, alphabet, random);
+                Set<String> reported = new HashSet<>();
+                int count = SequenceReporter.report(PackedDna.pack(dna), rules,
+                        (row, col, direction, base, length) -> assertTrue(
+                                reported.add(row + "," + col + "," + direction + "," + base + "," + length)));
+                assertEquals(referenceRuns(dna, runLength), reported, "n=" + n);
+                assertEquals(reported.size(), count);
+            }
+        }
+    }
+
+    // Test: cada secuencia se reporta con su primera base en la dirección de lectura
+    @Test
+    void testReport_positionsAndDirections() throws IOException {
+        String[] dna = {
+                "AAAAAC",
+                "CTGCTG",
+                "GCATCA",
+                "TCGGGG",
+                "ACGTAT",
+                "CTCAGT"
+        };
+        List<String> reported = new ArrayList<>();
+        SequenceReporter.report(PackedDna.pack(dna), new DetectionRules("corto", "ATCG", 3, 1),
+                (row, col, direction, base, length) -> reported.add(row + "," + col + " " + direction + " " + base + length));
+        assertEquals(List.of("0,0 HORIZONTAL A5", "2,1 VERTICAL C3", "3,2 HORIZONTAL G4"), reported);
+    }
+
+    // Secuencias maximales de `runLength` o más bases iguales, empezando por su primera base
+    private static Set<String> referenceRuns(String[] dna, int runLength) {
+        final int n = dna.length;
+        final int[][] steps = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}};
+        final SequenceDirection[] directions = SequenceDirection.values();
+        Set<String> runs = new HashSet<>();
+        for (int d = 0; d < steps.length; d++) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    char base = dna[row].charAt(col);
+                    int prevRow = row - steps[d][0], prevCol = col - steps[d][1];
+                    if (inside(n, prevRow, prevCol) && dna[prevRow].charAt(prevCol) == base) continue;
+                    int length = 0;
+                    for (int r = row, c = col; inside(n, r, c) && dna[r].charAt(c) == base; r += steps[d][0], c += steps[d][1]) {
+                        length++;
+                    }
+                    if (length >= runLength) runs.add(row + "," + col + "," + directions[d] + "," + base + "," + length);
+                }
+            }
+        }
+        return runs;
+    }
+
+    private static boolean inside(int n, int row, int col) {
+        return row >= 0 && row < n && col >= 0 && col < n;
+    }
+}
@@ -0,0 +1,25 @@
+package com.main.MutantDetector.engine;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static com.main.MutantDetector.engine.PackedSequenceEngineTest.randomDna;
+import static com.main.MutantDetector.engine.PackedSequenceEngineTest.referenceCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorSequenceEngineTest {
+    private final SequenceEngine engine = new VectorSequenceEngine();
+
+    // Test: el motor SIMD coincide con el recorrido de referencia, incluyendo matrices que usan varios vectores por fila
+    @ParameterizedTest
+    @ValueSource(ints = {4, 6, 33, 100, 300, 601})
+    void testCountSequences_matchesReference(int n) {
+        Random random = new Random(n);
+        for (int alphabet = 1; alphabet <= 4; alphabet++) {
+            String[] dna = randomDna(n, alphabet, random);
+            assertEquals(referenceCount(dna), engine.countSequences(PackedDna.pack(dna), Integer.MAX_VALUE));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.cache.DistributedVerdictCache;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.entity.DnaRecord;
+import com.main.MutantDetector.repository.DnaRecordBatchWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Escritor detenido (sin hilo de fondo): guardar() escribe en el hilo del test y flush() toma los reintentos
+class DnaRecordWriteBehindTest {
+    private static final int MAX_RETRIES = 2;
+
+    private final DnaRecordBatchWriter batchWriter = mock(DnaRecordBatchWriter.class);
+    private final StatsService statsService = mock(StatsService.class);
+    private final DistributedVerdictCache distributedVerdictCache = mock(DistributedVerdictCache.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DnaRecordWriteBehind writeBehind = new DnaRecordWriteBehind(batchWriter, statsService,
+            distributedVerdictCache, 16, 8, 0, MAX_RETRIES, 0, meterRegistry);
+
+    // Test: un registro que la base rechaza una vez se reintenta y queda guardado, sin tocar estadísticas ni caché
+    @Test
+    void testGuardar_retriesFailedRecord() {
+        DnaRecord dnaRecord = dnaRecord();
+        when(batchWriter.insertAll(anyList()))
+                .thenReturn(new DnaRecordBatchWriter.Resultado(new ArrayList<>(), new ArrayList<>(List.of(dnaRecord))))
+                .thenReturn(new DnaRecordBatchWriter.Resultado(new ArrayList<>(), new ArrayList<>()));
+
+        writeBehind.guardar(dnaRecord);
+
+        verify(batchWriter, times(2)).insertAll(anyList());
+        verifyNoInteractions(statsService, distributedVerdictCache);
+        assertEquals(0, meterRegistry.get("mutant.persistencia.pendientes").gauge().value());
+    }
+
+    // Test: agotados los reintentos el registro se descarta y se descuenta de las estadísticas y la caché
+    @Test
+    void testGuardar_discardsAfterMaxRetries() {
+        DnaRecord dnaRecord = dnaRecord();
+        when(batchWriter.insertAll(anyList()))
+                .thenAnswer(invocation -> new DnaRecordBatchWriter.Resultado(new ArrayList<>(), invocation.getArgument(0)));
+
+        writeBehind.guardar(dnaRecord);
+
+        verify(batchWriter, times(MAX_RETRIES + 1)).insertAll(anyList());
+        verify(statsService).descontar(dnaRecord);
+        verify(distributedVerdictCache).invalidate(DnaKey.of(dnaRecord.getDnaHash()));
+        assertEquals(1, meterRegistry.get("mutant.persistencia.descartados").counter().count());
+        assertEquals(0, meterRegistry.get("mutant.persistencia.pendientes").gauge().value());
+    }
+
+    // Test: un error de la base que no es por un registro puntual se trata como fallo de todo el lote
+    @Test
+    void testGuardar_batchExceptionIsRetried() {
+        when(batchWriter.insertAll(anyList()))
+                .thenThrow(new IllegalStateException("base caída"))
+                .thenReturn(new DnaRecordBatchWriter.Resultado(new ArrayList<>(), new ArrayList<>()));
+
+        writeBehind.guardar(dnaRecord());
+
+        verify(batchWriter, times(2)).insertAll(anyList());
+        verifyNoInteractions(statsService, distributedVerdictCache);
+    }
+
+    // Test: con la cola llena el request escribe su registro y, si la base lo rechaza, lo reintenta él mismo
+    // (no se descarta por no tener lugar en la cola)
+    @Test
+    void testGuardar_fullQueueRetriesOnCaller() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DnaRecordWriteBehind conCola = new DnaRecordWriteBehind(batchWriter, statsService,
+                distributedVerdictCache, 1, 8, 0, MAX_RETRIES, 0, registry);
+        DnaRecord enCurso = dnaRecord(), encolado = dnaRecord(), delRequest = dnaRecord();
+        CountDownLatch escribiendo = new CountDownLatch(1), liberar = new CountDownLatch(1);
+        AtomicInteger intentosDelRequest = new AtomicInteger();
+        when(batchWriter.insertAll(anyList())).thenAnswer(invocation -> {
+            List<DnaRecord> lote = invocation.getArgument(0);
+            if (lote.contains(enCurso)) {
+                // El escritor de fondo queda ocupado con el primer registro mientras el segundo llena la cola
+                escribiendo.countDown();
+                liberar.await();
+            }
+            if (lote.contains(delRequest) && intentosDelRequest.getAndIncrement() == 0) {
+                return new DnaRecordBatchWriter.Resultado(new ArrayList<>(), new ArrayList<>(lote));
+            }
+            return new DnaRecordBatchWriter.Resultado(new ArrayList<>(), new ArrayList<>());
+        });
+
+        conCola.start();
+        try {
+            conCola.guardar(enCurso);
+            assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+            conCola.guardar(encolado);
+            conCola.guardar(delRequest);
+
+            assertEquals(2, intentosDelRequest.get());
+            verifyNoInteractions(statsService, distributedVerdictCache);
+        } finally {
+            liberar.countDown();
+            conCola.stop();
+        }
+        assertEquals(0, registry.get("mutant.persistencia.descartados").counter().count());
+        assertEquals(0, registry.get("mutant.persistencia.pendientes").gauge().value());
+    }
+
+    private static DnaRecord dnaRecord() {
+        DnaRecord dnaRecord = new DnaRecord();
+        dnaRecord.setDnaHash(new byte[32]);
+        dnaRecord.setEsMutante(true);
+        dnaRecord.setFechaCreacion(LocalDateTime.now());
+        return dnaRecord;
+    }
+}
@@ -1,5 +1,7 @@
 package com.main.MutantDetector.service;
 
+import com.main.MutantDetector.engine.DetectionRules;
+import com.main.MutantDetector.engine.PackedDna;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -45,6 +47,25 @@ class MutantDetectorTest {
         assertFalse(detector.isMutant(dna));
     }
 
+    // Test: el largo de secuencia y el umbral de las reglas cambian el veredicto sobre el mismo ADN
+    @Test
+    public void testIsMutant_rules() throws InvalidDnaException {
+        String[] dna = {
+                "AAAAAC",
+                "CTGCTG",
+                "GCATCA",
+                "TCGGGG",
+                "ACGTAT",
+                "CTCAGT"
+        };
+        PackedDna matrix = PackedDna.pack(dna);
+        assertTrue(detector.isMutant(dna));
+        assertTrue(detector.isMutant(matrix, new DetectionRules("una", "ATCG", 5, 1)));
+        assertFalse(detector.isMutant(matrix, new DetectionRules("largo", "ATCG", 5, 2)));
+        assertFalse(detector.isMutant(matrix, new DetectionRules("umbral", "ATCG", 4, 3)));
+        assertTrue(detector.isMutant(matrix, new DetectionRules("corto", "ATCG", 3, 3)));
+    }
+
     // Test: isValidDna retorna true para secuencias de ADN válidas
     @ParameterizedTest
     @MethodSource("dnaValidProvider")
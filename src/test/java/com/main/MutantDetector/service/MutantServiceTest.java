@@ -1,8 +1,15 @@
 package com.main.MutantDetector.service;
 
+import com.main.MutantDetector.cache.DnaKeyFilter;
+import com.main.MutantDetector.cache.VerdictCache;
 import com.main.MutantDetector.dto.DnaRequestDTO;
 import com.main.MutantDetector.dto.DnaResponseDTO;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.entity.DnaRecord;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.repository.DnaRecordRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -10,6 +17,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,6 +33,20 @@ import static org.junit.jupiter.api.Assertions.*;
 class MutantServiceTest {
     @Autowired
     private MutantService mutantService;
+    @Autowired
+    private VerdictCache verdictCache;
+    @Autowired
+    private DnaRecordWriteBehind dnaRecordWriteBehind;
+    @Autowired
+    private DnaRecordRepository dnaRecordRepository;
+    @Autowired
+    private DnaScanner dnaScanner;
+    @Autowired
+    private DnaKeyFilter dnaKeyFilter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private StatsService statsService;
 
     // Test: comprobarMutante retorna esMutante=true para diferentes secuencias de ADN mutante
     @ParameterizedTest
@@ -50,6 +79,143 @@ class MutantServiceTest {
         DnaResponseDTO dnaResponseDTO = mutantService.comprobarMutante(dnaRequestDTO);
         assertTrue(dnaResponseDTO.esMutante());
     }
+    // Test: un ADN repetido se responde desde la caché de veredictos
+    @Test
+    void testComprobarMutante_repeatedFromCache() throws InvalidDnaException {
+        DnaRequestDTO dnaRequestDTO = new DnaRequestDTO(new String[]{
+                "GGGG",
+                "CATC",
+                "TACG",
+                "GGGG"
+        });
+        mutantService.comprobarMutante(dnaRequestDTO);
+        long aciertos = verdictCache.getStats().aciertos();
+
+        assertTrue(mutantService.comprobarMutante(dnaRequestDTO).esMutante());
+        assertEquals(aciertos + 1, verdictCache.getStats().aciertos());
+    }
+
+    // Test: el registro nuevo se guarda en la base al vaciar la cola de escritura en segundo plano
+    @Test
+    void testComprobarMutante_persistedByWriteBehind() throws InvalidDnaException {
+        dnaRecordWriteBehind.flush();
+        long guardados = dnaRecordRepository.count();
+
+        mutantService.comprobarMutante(new DnaRequestDTO(new String[]{
+                "TCGA",
+                "AGCT",
+                "CTTG",
+                "GACC"
+        }));
+        dnaRecordWriteBehind.flush();
+
+        assertEquals(guardados + 1, dnaRecordRepository.count());
+    }
+
+    // Test: sin caché, los ADN ya guardados se resuelven por su clave binaria (individual y en lote) sin duplicarse
+    @Test
+    void testComprobarMutantes_resolvedFromRepository() throws InvalidDnaException {
+        String[] mutante = {"CCCC", "ATGA", "GTCA", "CCCC"};
+        String[] humano = {"CATG", "GTAC", "CATG", "TGCA"};
+        mutantService.comprobarMutantes(List.of(dnaScanner.scan(mutante), dnaScanner.scan(humano)));
+        dnaRecordWriteBehind.flush();
+        long guardados = dnaRecordRepository.count();
+
+        verdictCache.invalidateAll();
+        List<DnaResponseDTO> respuestas = mutantService.comprobarMutantes(
+                List.of(dnaScanner.scan(humano), dnaScanner.scan(mutante)));
+        assertFalse(respuestas.get(0).esMutante());
+        assertTrue(respuestas.get(1).esMutante());
+
+        verdictCache.invalidateAll();
+        assertTrue(mutantService.comprobarMutante(new DnaRequestDTO(mutante)).esMutante());
+        dnaRecordWriteBehind.flush();
+        assertEquals(guardados, dnaRecordRepository.count());
+    }
+
+    // Test: un ADN nuevo no se busca en la base (el filtro de Bloom lo descarta); ya guardado, sí se busca
+    @Test
+    void testComprobarMutante_newDnaSkipsRepositoryLookup() throws InvalidDnaException {
+        DnaRequestDTO dnaRequestDTO = new DnaRequestDTO(new String[]{"GATCA", "CTAGT", "GATCA", "CTAGT", "TCGAG"});
+        double descartados = consultasFiltro("descartado");
+        assertFalse(mutantService.comprobarMutante(dnaRequestDTO).esMutante());
+        assertEquals(descartados + 1, consultasFiltro("descartado"));
+
+        dnaRecordWriteBehind.flush();
+        verdictCache.invalidateAll();
+        double posibles = consultasFiltro("posible");
+        assertFalse(mutantService.comprobarMutante(dnaRequestDTO).esMutante());
+        assertEquals(posibles + 1, consultasFiltro("posible"));
+    }
+
+    // Test: al reconstruir el filtro desde la base no quedan claves guardadas afuera (sin falsos negativos)
+    @Test
+    void testDnaKeyFilter_reloadKeepsStoredKeys() throws InvalidDnaException {
+        mutantService.comprobarMutante(new DnaRequestDTO(new String[]{"TTAGC", "GCATT", "TTAGC", "GCATT", "ACGTA"}));
+        dnaRecordWriteBehind.flush();
+
+        dnaKeyFilter.recargar();
+        List<DnaKey> guardadas = dnaRecordRepository.findAll().stream().map(r -> DnaKey.of(r.getDnaHash())).toList();
+        assertFalse(guardadas.isEmpty());
+        guardadas.forEach(key -> assertTrue(dnaKeyFilter.puedeEstar(key)));
+    }
+
+    // Test: requests concurrentes con el mismo ADN nuevo comparten una sola detección y un solo registro
+    @Test
+    void testComprobarMutante_concurrentRequestsCoalesce() throws Exception {
+        DnaRequestDTO dnaRequestDTO = new DnaRequestDTO(new String[]{"GGGGA", "TCATC", "GATCA", "CTAGT", "GGGGT"});
+        dnaRecordWriteBehind.flush();
+        long guardados = dnaRecordRepository.count();
+        long mutantes = statsService.getStats().cantMutantes();
+
+        int hilos = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<DnaResponseDTO>> respuestas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                respuestas.add(executor.submit(() -> {
+                    largada.await();
+                    return mutantService.comprobarMutante(dnaRequestDTO);
+                }));
+            }
+            largada.countDown();
+            for (Future<DnaResponseDTO> respuesta : respuestas) {
+                assertTrue(respuesta.get(10, TimeUnit.SECONDS).esMutante());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        dnaRecordWriteBehind.flush();
+
+        assertEquals(guardados + 1, dnaRecordRepository.count());
+        assertEquals(mutantes + 1, statsService.getStats().cantMutantes());
+    }
+
+    // Test: un registro que al guardarse resulta duplicado se descuenta de las estadísticas
+    @Test
+    void testWriteBehind_duplicateCorrectsStats() throws InvalidDnaException {
+        DnaRequestDTO dnaRequestDTO = new DnaRequestDTO(new String[]{"ACGTT", "TGCAA", "ACGTT", "TGCAA", "CATGC"});
+        mutantService.comprobarMutante(dnaRequestDTO);
+        dnaRecordWriteBehind.flush();
+        long humanos = statsService.getStats().cantHumanos();
+
+        // Otra instancia guardó el mismo ADN: el registro local se cuenta y después se descuenta
+        DnaRecord duplicado = new DnaRecord();
+        duplicado.setDnaHash(dnaScanner.scan(dnaRequestDTO.dna()).key().toBytes());
+        duplicado.setEsMutante(false);
+        duplicado.setFechaCreacion(LocalDateTime.now());
+        statsService.registrar(duplicado);
+        dnaRecordWriteBehind.guardar(duplicado);
+        dnaRecordWriteBehind.flush();
+
+        assertEquals(humanos, statsService.getStats().cantHumanos());
+    }
+
+    private double consultasFiltro(String resultado) {
+        return meterRegistry.get("mutant.filtro.consultas").tag("resultado", resultado).counter().count();
+    }
+
     static Stream<Arguments> dnaMutantProvider() {
         return Stream.of(
                 // Caso 1: Mutante con secuencias horizontales de 4 caracteres iguales
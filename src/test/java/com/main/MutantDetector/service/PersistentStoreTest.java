@@ -0,0 +1,57 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.MutantDetectorApplication;
+import com.main.MutantDetector.cache.DnaKeyFilter;
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.repository.DnaRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentStoreTest {
+    @TempDir
+    Path directorio;
+
+    // Test: con el perfil persistente, lo guardado antes de cerrar la aplicación (incluida la cola
+    // write-behind) está al volver a iniciarla: en la base, en el filtro de Bloom y en las estadísticas
+    @Test
+    void testRestart_keepsRecords() throws InvalidDnaException {
+        String[] mutante = {"AAAAT", "CTGCA", "TTATG", "AGAAG", "CCCCT"};
+        String[] humano = {"ATGCA", "CAGTC", "TTATG", "AGACG", "GCGTA"};
+
+        DnaKey mutanteKey;
+        try (ConfigurableApplicationContext context = iniciar()) {
+            MutantService mutantService = context.getBean(MutantService.class);
+            assertTrue(mutantService.comprobarMutante(new DnaRequestDTO(mutante)).esMutante());
+            assertFalse(mutantService.comprobarMutante(new DnaRequestDTO(humano)).esMutante());
+            mutanteKey = context.getBean(DnaScanner.class).scan(mutante).key();
+        }
+        // La base quedó en el directorio del test y no en el ./data por defecto del perfil
+        assertTrue(Files.exists(directorio.resolve("mutantdb.mv.db")));
+
+        try (ConfigurableApplicationContext context = iniciar()) {
+            assertTrue(context.getBean(DnaRecordRepository.class).findByDnaHash(mutanteKey.toBytes()).isPresent());
+            assertTrue(context.getBean(DnaKeyFilter.class).puedeEstar(mutanteKey));
+            assertEquals(1, context.getBean(StatsService.class).getStats().cantMutantes());
+            assertEquals(1, context.getBean(StatsService.class).getStats().cantHumanos());
+            assertEquals(1, context.getBean(StatsService.class).getVentanas().ultimoDia().cantMutantes());
+            assertTrue(context.getBean(MutantService.class).comprobarMutante(new DnaRequestDTO(mutante)).esMutante());
+        }
+    }
+
+    // Como argumentos de línea de comandos: .properties(...) solo fija valores por defecto y el perfil los pisa
+    private ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .profiles("persistente")
+                .run("--server.port=0", "--mutant.store.path=" + directorio.resolve("mutantdb"));
+    }
+}
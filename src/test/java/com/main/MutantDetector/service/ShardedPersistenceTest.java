@@ -0,0 +1,130 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.cache.DnaKeyFilter;
+import com.main.MutantDetector.cache.VerdictCache;
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.dto.DnaResponseDTO;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import com.main.MutantDetector.repository.DnaRecordRepository;
+import com.main.MutantDetector.repository.DnaRecordShards;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "mutant.persistence.shards=4",
+        "spring.datasource.url=jdbc:h2:mem:shards",
+        "mutant.warmup.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardedPersistenceTest {
+    private static final int MUESTRAS = 40;
+
+    @Autowired
+    private MutantService mutantService;
+    @Autowired
+    private StatsService statsService;
+    @Autowired
+    private DnaRecordRepository dnaRecordRepository;
+    @Autowired
+    private DnaRecordShards shards;
+    @Autowired
+    private DnaRecordWriteBehind dnaRecordWriteBehind;
+    @Autowired
+    private VerdictCache verdictCache;
+    @Autowired
+    private DnaKeyFilter dnaKeyFilter;
+    @Autowired
+    private DnaScanner dnaScanner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String[]> dnas = new ArrayList<>();
+    private long mutantes;
+
+    @BeforeAll
+    void setUp() throws InvalidDnaException {
+        // ADN distintos de 6x6: la primera fila varía con i, las dos últimas lo hacen mutante si i es par
+        for (int i = 0; i < MUESTRAS; i++) {
+            String fila = Integer.toString(i, 4).replace('0', 'A').replace('1', 'C').replace('2', 'G').replace('3', 'T');
+            String primera = (fila + "ACGTAC").substring(0, 6);
+            boolean mutante = i % 2 == 0;
+            dnas.add(new String[]{primera, "CGTACG", "TACGTA", "GTACGT",
+                    mutante ? "AAAAAC" : "ACGTAC", mutante ? "CCCCGT" : "CGTACG"});
+            if (mutanteEsperado(i)) mutantes++;
+        }
+        for (String[] dna : dnas) {
+            mutantService.comprobarMutante(new DnaRequestDTO(dna));
+        }
+        dnaRecordWriteBehind.flush();
+    }
+
+    // Test: los registros se reparten entre las tablas según el prefijo del hash y no se pierden
+    @Test
+    void testInsert_distributesAcrossShards() {
+        long total = 0;
+        int tablasConRegistros = 0;
+        for (String table : shards.tables()) {
+            long enTabla = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            total += enTabla;
+            if (enTabla > 0) tablasConRegistros++;
+        }
+        assertEquals(MUESTRAS, total);
+        assertEquals(MUESTRAS, dnaRecordRepository.count());
+        assertTrue(tablasConRegistros > 1);
+    }
+
+    // Test: cada ADN se encuentra en su partición, individual y en lote
+    @Test
+    void testFind_routesToShard() throws InvalidDnaException {
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < dnas.size(); i++) {
+            byte[] hash = dnaScanner.scan(dnas.get(i)).key().toBytes();
+            hashes.add(hash);
+            assertEquals(mutanteEsperado(i), dnaRecordRepository.findByDnaHash(hash).orElseThrow().getEsMutante());
+        }
+        assertEquals(MUESTRAS, dnaRecordRepository.findByDnaHashIn(hashes).size());
+    }
+
+    // Test: las estadísticas recargadas suman todas las particiones y coinciden con lo registrado en memoria
+    @Test
+    void testStats_aggregateAcrossShards() {
+        long humanosEnMemoria = statsService.getStats().cantHumanos();
+        statsService.recargar();
+        assertEquals(mutantes, statsService.getStats().cantMutantes());
+        assertEquals(MUESTRAS - mutantes, statsService.getStats().cantHumanos());
+        assertEquals(humanosEnMemoria, statsService.getStats().cantHumanos());
+        assertEquals(mutantes, statsService.getVentanas().ultimaHora().cantMutantes());
+    }
+
+    // Test: sin caché, los ADN guardados en cualquier partición se resuelven desde la base sin duplicarse
+    @Test
+    void testComprobarMutantes_resolvedFromShards() throws InvalidDnaException {
+        dnaKeyFilter.recargar();
+        verdictCache.invalidateAll();
+        List<DnaSample> muestras = new ArrayList<>();
+        for (String[] dna : dnas) {
+            muestras.add(dnaScanner.scan(dna));
+        }
+        List<DnaResponseDTO> respuestas = mutantService.comprobarMutantes(muestras);
+        for (int i = 0; i < dnas.size(); i++) {
+            assertEquals(mutanteEsperado(i), respuestas.get(i).esMutante());
+        }
+        dnaRecordWriteBehind.flush();
+        assertEquals(MUESTRAS, dnaRecordRepository.count());
+    }
+
+    private static boolean mutanteEsperado(int i) {
+        return i % 2 == 0;
+    }
+}
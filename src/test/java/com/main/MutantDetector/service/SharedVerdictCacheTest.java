@@ -0,0 +1,130 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.MutantDetectorApplication;
+import com.main.MutantDetector.cache.DistributedVerdictCache;
+import com.main.MutantDetector.cache.DnaKeyFilter;
+import com.main.MutantDetector.cache.LocalSharedVerdictStore;
+import com.main.MutantDetector.cache.VerdictCache;
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.engine.DnaKey;
+import com.main.MutantDetector.engine.DnaSample;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dos nodos (contextos de Spring) sobre la misma base y el mismo nivel compartido en proceso
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SharedVerdictCacheTest {
+    private ConfigurableApplicationContext nodoA;
+    private ConfigurableApplicationContext nodoB;
+
+    @BeforeAll
+    void setUp() {
+        nodoA = iniciar();
+        nodoB = iniciar();
+    }
+
+    @AfterAll
+    void tearDown() {
+        nodoB.close();
+        nodoA.close();
+    }
+
+    // Test: un ADN resuelto por un nodo se resuelve en el otro desde el nivel compartido, sin consultar la
+    // base ni volver a detectarlo, y el otro nodo lo agrega a su filtro de Bloom
+    @Test
+    void testComprobarMutante_resolvedByOtherNode() throws InvalidDnaException {
+        String[] dna = {"CGTAC", "GGGGA", "TACGT", "ACGTA", "CCCCT"};
+        DnaKey key = nodoA.getBean(DnaScanner.class).scan(dna).key();
+        double distribuidas = veredictos(nodoB, "distribuida");
+
+        assertTrue(nodoA.getBean(MutantService.class).comprobarMutante(new DnaRequestDTO(dna)).esMutante());
+        assertTrue(nodoB.getBean(DnaKeyFilter.class).puedeEstar(key));
+        double consultasFiltro = consultasFiltro(nodoB);
+
+        assertTrue(nodoB.getBean(MutantService.class).comprobarMutante(new DnaRequestDTO(dna)).esMutante());
+        assertEquals(distribuidas + 1, veredictos(nodoB, "distribuida"));
+        assertEquals(consultasFiltro, consultasFiltro(nodoB));
+        assertEquals(Boolean.TRUE, nodoB.getBean(VerdictCache.class).get(key));
+    }
+
+    // Test: en un lote, los ADN resueltos por otro nodo salen del nivel compartido
+    @Test
+    void testComprobarMutantes_resolvedByOtherNode() throws InvalidDnaException {
+        String[] conocido = {"ATCGA", "TCGAT", "CGATC", "GATCG", "ATCGA"};
+        String[] nuevo = {"GCTAG", "CTAGC", "TAGCT", "AGCTA", "GCTAG"};
+        nodoA.getBean(MutantService.class).comprobarMutante(new DnaRequestDTO(conocido));
+        double distribuidas = veredictos(nodoB, "distribuida");
+
+        DnaScanner scanner = nodoB.getBean(DnaScanner.class);
+        List<DnaSample> muestras = List.of(scanner.scan(conocido), scanner.scan(nuevo));
+        nodoB.getBean(MutantService.class).comprobarMutantes(muestras);
+
+        assertEquals(distribuidas + 1, veredictos(nodoB, "distribuida"));
+    }
+
+    // Test: una invalidación en un nodo vacía la caché local de los demás
+    @Test
+    void testInvalidateAll_propagatesToOtherNodes() throws InvalidDnaException {
+        String[] dna = {"TGCAT", "GCATG", "CATGC", "ATGCA", "TGCAT"};
+        DnaKey key = nodoB.getBean(DnaScanner.class).scan(dna).key();
+        nodoB.getBean(MutantService.class).comprobarMutante(new DnaRequestDTO(dna));
+        assertNotNull(nodoB.getBean(VerdictCache.class).get(key));
+
+        nodoA.getBean(DistributedVerdictCache.class).invalidateAll();
+
+        assertNull(nodoB.getBean(VerdictCache.class).get(key));
+        assertNull(nodoB.getBean(DistributedVerdictCache.class).get(key));
+    }
+
+    // Test: la instancia por nombre vive mientras algún contexto la usa; al cerrar el último se descarta
+    @Test
+    void testLocalSharedVerdictStore_releasedWhenLastContextCloses() {
+        DnaKey key = new DnaKey(1, 2, 3, 4);
+        LocalSharedVerdictStore primero = LocalSharedVerdictStore.named("cierre-test", 10);
+        LocalSharedVerdictStore segundo = LocalSharedVerdictStore.named("cierre-test", 10);
+        assertSame(primero, segundo);
+        primero.put(key, true);
+
+        primero.close();
+        LocalSharedVerdictStore tercero = LocalSharedVerdictStore.named("cierre-test", 10);
+        assertSame(segundo, tercero);
+        assertEquals(Boolean.TRUE, tercero.get(key));
+        segundo.close();
+        tercero.close();
+
+        LocalSharedVerdictStore nuevo = LocalSharedVerdictStore.named("cierre-test", 10);
+        assertNotSame(segundo, nuevo);
+        assertNull(nuevo.get(key));
+        nuevo.close();
+    }
+
+    private ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:nodos",
+                        "--mutant.shared-cache.type=local",
+                        "--mutant.shared-cache.name=nodos-test",
+                        "--mutant.warmup.enabled=false");
+    }
+
+    private static double veredictos(ConfigurableApplicationContext nodo, String origen) {
+        return nodo.getBean(MeterRegistry.class).get("mutant.veredictos").tag("origen", origen).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static double consultasFiltro(ConfigurableApplicationContext nodo) {
+        return nodo.getBean(MeterRegistry.class).get("mutant.filtro.consultas").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+}
@@ -0,0 +1,137 @@
+package com.main.MutantDetector.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsRollupsTest {
+    private static final long AHORA = 1_800_000_000L;
+
+    // Test: los rangos recientes se cuentan por segundo, sin redondear
+    @Test
+    void testContar_recentRangeIsExact() {
+        StatsRollups rollups = new StatsRollups();
+        rollups.sumar(AHORA - 30, true, 1);
+        rollups.sumar(AHORA - 61, false, 1);
+
+        StatsRollups.Conteo ultimoMinuto = rollups.contar(AHORA - 59, AHORA + 1, AHORA);
+        assertEquals(1, ultimoMinuto.mutantes());
+        assertEquals(0, ultimoMinuto.humanos());
+        assertEquals(AHORA - 59, ultimoMinuto.desde());
+        assertEquals(AHORA + 1, ultimoMinuto.hasta());
+    }
+
+    // Test: un rango de días combina casilleros por hora, por minuto y por segundo sin contar dos veces
+    @Test
+    void testContar_combinesResolutionsWithoutOverlap() {
+        StatsRollups rollups = new StatsRollups();
+        long[] segundos = {AHORA - 5, AHORA - 3_000, AHORA - 3_700, AHORA - 80_000, AHORA - 6 * 86_400, AHORA - 30 * 86_400};
+        for (long segundo : segundos) {
+            rollups.sumar(segundo, false, 1);
+        }
+
+        assertEquals(2, rollups.contar(AHORA - 3_599, AHORA + 1, AHORA).humanos());
+        assertEquals(4, rollups.contar(AHORA - 86_400, AHORA + 1, AHORA).humanos());
+        assertEquals(6, rollups.contar(AHORA - 60 * 86_400, AHORA + 1, AHORA).humanos());
+        assertEquals(2, rollups.contar(AHORA - 40 * 86_400, AHORA - 86_400, AHORA).humanos());
+    }
+
+    // Test: un descuento resta del casillero del registro y los casilleros vencidos se reciclan
+    @Test
+    void testSumar_discountAndRecycle() {
+        StatsRollups rollups = new StatsRollups(new StatsRollups.Resolucion(1, 10));
+        rollups.sumar(AHORA, true, 1);
+        rollups.sumar(AHORA, true, 1);
+        rollups.sumar(AHORA, true, -1);
+        assertEquals(1, rollups.contar(AHORA - 9, AHORA + 1, AHORA).mutantes());
+
+        // Diez segundos después el casillero de AHORA se reutiliza y ya no está retenido
+        rollups.sumar(AHORA + 10, true, 1);
+        rollups.sumar(AHORA, true, 1);
+        assertEquals(1, rollups.contar(AHORA, AHORA + 11, AHORA + 10).mutantes());
+    }
+
+    // Test: hilos concurrentes que reciclan los mismos casilleros no pierden sumas del intervalo nuevo
+    @Test
+    void testSumar_concurrentRecycleKeepsCounts() throws Exception {
+        StatsRollups rollups = new StatsRollups(new StatsRollups.Resolucion(1, 10));
+        for (int segundo = 0; segundo < 10; segundo++) {
+            rollups.sumar(AHORA - 10 + segundo, false, 100);
+        }
+
+        int hilos = 8, porHilo = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                tareas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int n = 0; n < porHilo; n++) {
+                        rollups.sumar(AHORA + n % 10, true, 1);
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        StatsRollups.Conteo conteo = rollups.contar(AHORA, AHORA + 10, AHORA + 9);
+        assertEquals((long) hilos * porHilo, conteo.mutantes());
+        assertEquals(0, conteo.humanos());
+    }
+
+    // Test: una suma que validó el intervalo viejo justo antes de que otro hilo recicle el casillero no cae
+    // en el intervalo nuevo (cada ronda cruza el borde de un casillero único con todos los hilos a la vez)
+    @Test
+    void testSumar_concurrentSlotBoundaryKeepsEpochs() throws Exception {
+        int hilos = 4, rondas = 5_000;
+        StatsRollups[] rollups = new StatsRollups[rondas];
+        for (int r = 0; r < rondas; r++) {
+            rollups[r] = new StatsRollups(new StatsRollups.Resolucion(1, 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CyclicBarrier largada = new CyclicBarrier(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                // Cada hilo suma una cantidad distinta en el intervalo viejo: el primero recicla mientras los
+                // demás todavía están sumando en él
+                final int viejas = 1 + h * 16;
+                tareas.add(executor.submit(() -> {
+                    for (StatsRollups ronda : rollups) {
+                        largada.await();
+                        for (int n = 0; n < viejas; n++) {
+                            ronda.sumar(AHORA, true, 1);
+                        }
+                        ronda.sumar(AHORA + 1, true, 1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (StatsRollups ronda : rollups) {
+            assertEquals(hilos, ronda.contar(AHORA + 1, AHORA + 2, AHORA + 1).mutantes());
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.main.MutantDetector.service;
 
+import com.main.MutantDetector.cache.VerdictCache;
 import com.main.MutantDetector.dto.DnaRequestDTO;
 import com.main.MutantDetector.dto.DnaResponseDTO;
 import com.main.MutantDetector.dto.StatsResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanaResponseDTO;
+import com.main.MutantDetector.dto.StatsVentanasResponseDTO;
+import com.main.MutantDetector.entity.DnaRecord;
 import com.main.MutantDetector.exceptions.InvalidDnaException;
 import com.main.MutantDetector.repository.DnaRecordRepository;
+import com.main.MutantDetector.repository.DnaVerdictReader;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -13,10 +18,13 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -27,13 +35,21 @@ class StatsServiceTest {
     private MutantService mutantService;
     @Autowired
     private DnaRecordRepository dnaRecordRepository;
+    @Autowired
+    private VerdictCache verdictCache;
+    @Autowired
+    private DnaRecordWriteBehind dnaRecordWriteBehind;
 
     @BeforeAll
     void setUp() throws InvalidDnaException {
+        dnaRecordWriteBehind.flush();
         dnaRecordRepository.deleteAll();
+        verdictCache.invalidateAll();
+        statsService.recargar();
         for (String[] dna : dnaRecords()) {
             mutantService.comprobarMutante(new DnaRequestDTO(dna));
         }
+        dnaRecordWriteBehind.flush();
     }
 
     // Test: getStats retorna estadísticas correctas (cantHumanos, cantMutantes, ratio)
@@ -45,6 +61,57 @@ class StatsServiceTest {
         assertEquals(2.0, statsResponse.ratio());
     }
 
+    // Test: los contadores en memoria coinciden con la tabla
+    @Test
+    void testGetStats_matchesTable() {
+        StatsResponseDTO statsResponse = statsService.getStats();
+        assertEquals(dnaRecordRepository.countByEsMutante(false), statsResponse.cantHumanos());
+        assertEquals(dnaRecordRepository.countByEsMutante(true), statsResponse.cantMutantes());
+    }
+
+    // Test: las ventanas se reconstruyen desde la tabla y coinciden con los registros recién creados
+    @Test
+    void testGetVentanas_rebuiltFromTable() {
+        statsService.recargar();
+        StatsVentanasResponseDTO ventanas = statsService.getVentanas();
+        assertEquals(1L, ventanas.ultimaHora().cantHumanos());
+        assertEquals(2L, ventanas.ultimaHora().cantMutantes());
+        assertEquals(2L, ventanas.ultimoDia().cantMutantes());
+
+        StatsVentanaResponseDTO anterior = statsService.getRango(
+                LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2));
+        assertEquals(0L, anterior.cantHumanos() + anterior.cantMutantes());
+    }
+
+    // Test: sin humanos registrados el ratio es 0 (no Infinity ni NaN)
+    @Test
+    void testGetStats_withoutHumans() {
+        DnaRecordRepository repository = mock(DnaRecordRepository.class);
+        when(repository.countByEsMutante(false)).thenReturn(0L);
+        when(repository.countByEsMutante(true)).thenReturn(3L);
+        StatsService service = new StatsService(repository, mock(DnaVerdictReader.class));
+        service.recargar();
+
+        StatsResponseDTO statsResponse = service.getStats();
+        assertEquals(3L, statsResponse.cantMutantes());
+        assertEquals(0.0, statsResponse.ratio());
+    }
+
+    // Test: un registro creado en el segundo en curso entra en las ventanas que terminan ahora
+    @Test
+    void testGetVentanas_includesCurrentSecond() {
+        StatsService service = new StatsService(mock(DnaRecordRepository.class), mock(DnaVerdictReader.class));
+        service.recargar();
+        DnaRecord dnaRecord = new DnaRecord();
+        dnaRecord.setEsMutante(true);
+        dnaRecord.setFechaCreacion(LocalDateTime.now());
+        service.registrar(dnaRecord);
+
+        assertEquals(1L, service.getVentanas().ultimoMinuto().cantMutantes());
+        assertEquals(1L, service.getRango(dnaRecord.getFechaCreacion(), dnaRecord.getFechaCreacion().plusNanos(1))
+                .cantMutantes());
+    }
+
     private List<String[]> dnaRecords() {
         return List.of(
                 // Caso 1: ADN mutante - secuencias horizontales de 4 caracteres iguales
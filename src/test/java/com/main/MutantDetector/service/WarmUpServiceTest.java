@@ -0,0 +1,46 @@
+package com.main.MutantDetector.service;
+
+import com.main.MutantDetector.cache.VerdictCache;
+import com.main.MutantDetector.dto.DnaRequestDTO;
+import com.main.MutantDetector.engine.DnaScanner;
+import com.main.MutantDetector.exceptions.InvalidDnaException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class WarmUpServiceTest {
+    @Autowired
+    private WarmUpService warmUpService;
+    @Autowired
+    private MutantService mutantService;
+    @Autowired
+    private DnaRecordWriteBehind dnaRecordWriteBehind;
+    @Autowired
+    private VerdictCache verdictCache;
+    @Autowired
+    private DnaScanner dnaScanner;
+
+    // Test: la precarga deja en la caché los veredictos guardados, sin volver a detectarlos
+    @Test
+    void testPrecargarVeredictos_fillsCache() throws InvalidDnaException {
+        String[] mutante = {"TTTTA", "CGACG", "GACGT", "ACGTC", "GGGGA"};
+        assertTrue(mutantService.comprobarMutante(new DnaRequestDTO(mutante)).esMutante());
+        dnaRecordWriteBehind.flush();
+        verdictCache.invalidateAll();
+
+        assertTrue(warmUpService.precargarVeredictos() > 0);
+
+        assertEquals(Boolean.TRUE, verdictCache.get(dnaScanner.scan(mutante).key()));
+    }
+
+    // Test: el calentamiento de la detección corre con los ADN sintéticos de todos los perfiles sin fallar
+    @Test
+    void testCalentarDeteccion_runsAllProfiles() throws IOException, InvalidDnaException {
+        assertTrue(warmUpService.calentarDeteccion() > 0);
+    }
+}